@@ -0,0 +1,26 @@
+package org.javafunk.example.benchmark;
+
+import org.javafunk.excelparser.annotations.ExcelField;
+import org.javafunk.excelparser.annotations.ExcelObject;
+import org.javafunk.excelparser.annotations.MappedExcelObject;
+import org.javafunk.excelparser.annotations.ParseType;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Nested fixture: a header read column-wise from rows 1 and 2, and its {@link BatchLine}s.
+ */
+@Data
+@ExcelObject(parseType = ParseType.COLUMN, start = 2, end = 2)
+public class Batch {
+    @ExcelField(position = 1)
+    String name;
+
+    @ExcelField(position = 2)
+    String owner;
+
+    @MappedExcelObject
+    List<BatchLine> lines;
+}
@@ -0,0 +1,40 @@
+package org.javafunk.example.benchmark;
+
+import org.javafunk.excelparser.annotations.ExcelField;
+import org.javafunk.excelparser.annotations.ExcelObject;
+import org.javafunk.excelparser.annotations.ParseType;
+
+import lombok.Data;
+
+import java.util.Date;
+
+/**
+ * Line of a {@link Batch}: the {@code mixed} type mix from row 4 on.
+ */
+@Data
+@ExcelObject(parseType = ParseType.ROW, start = 4)
+public class BatchLine {
+    @ExcelField(position = 1)
+    String code;
+
+    @ExcelField(position = 2)
+    Double price;
+
+    @ExcelField(position = 3)
+    Long quantity;
+
+    @ExcelField(position = 4)
+    Integer units;
+
+    @ExcelField(position = 5)
+    Date tradeDate;
+
+    @ExcelField(position = 6)
+    String name;
+
+    @ExcelField(position = 7)
+    Double discount;
+
+    @ExcelField(position = 8)
+    Long reference;
+}
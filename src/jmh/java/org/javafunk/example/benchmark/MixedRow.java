@@ -0,0 +1,40 @@
+package org.javafunk.example.benchmark;
+
+import org.javafunk.excelparser.annotations.ExcelField;
+import org.javafunk.excelparser.annotations.ExcelObject;
+import org.javafunk.excelparser.annotations.ParseType;
+
+import lombok.Data;
+
+import java.util.Date;
+
+/**
+ * Fixture row of the {@code mixed} type mix: string, double, long, integer and date columns.
+ */
+@Data
+@ExcelObject(parseType = ParseType.ROW, start = 2)
+public class MixedRow {
+    @ExcelField(position = 1)
+    String code;
+
+    @ExcelField(position = 2)
+    Double price;
+
+    @ExcelField(position = 3)
+    Long quantity;
+
+    @ExcelField(position = 4)
+    Integer units;
+
+    @ExcelField(position = 5)
+    Date tradeDate;
+
+    @ExcelField(position = 6)
+    String name;
+
+    @ExcelField(position = 7)
+    Double discount;
+
+    @ExcelField(position = 8)
+    Long reference;
+}
@@ -0,0 +1,40 @@
+package org.javafunk.example.benchmark;
+
+import org.javafunk.excelparser.annotations.ExcelField;
+import org.javafunk.excelparser.annotations.ExcelObject;
+import org.javafunk.excelparser.annotations.ParseType;
+
+import lombok.Data;
+
+import java.util.Date;
+
+/**
+ * Fixture row of the {@code numeric} type mix: double, long, integer and date columns.
+ */
+@Data
+@ExcelObject(parseType = ParseType.ROW, start = 2)
+public class NumericRow {
+    @ExcelField(position = 1)
+    Double price;
+
+    @ExcelField(position = 2)
+    Long quantity;
+
+    @ExcelField(position = 3)
+    Integer units;
+
+    @ExcelField(position = 4)
+    Date tradeDate;
+
+    @ExcelField(position = 5)
+    Double discount;
+
+    @ExcelField(position = 6)
+    Long reference;
+
+    @ExcelField(position = 7)
+    Integer batch;
+
+    @ExcelField(position = 8)
+    Date settlementDate;
+}
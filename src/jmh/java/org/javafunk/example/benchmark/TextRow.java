@@ -0,0 +1,38 @@
+package org.javafunk.example.benchmark;
+
+import org.javafunk.excelparser.annotations.ExcelField;
+import org.javafunk.excelparser.annotations.ExcelObject;
+import org.javafunk.excelparser.annotations.ParseType;
+
+import lombok.Data;
+
+/**
+ * Fixture row of the {@code text} type mix: string columns only.
+ */
+@Data
+@ExcelObject(parseType = ParseType.ROW, start = 2)
+public class TextRow {
+    @ExcelField(position = 1)
+    String code;
+
+    @ExcelField(position = 2)
+    String name;
+
+    @ExcelField(position = 3)
+    String category;
+
+    @ExcelField(position = 4)
+    String region;
+
+    @ExcelField(position = 5)
+    String supplier;
+
+    @ExcelField(position = 6)
+    String currency;
+
+    @ExcelField(position = 7)
+    String status;
+
+    @ExcelField(position = 8)
+    String comment;
+}
@@ -0,0 +1,105 @@
+package org.javafunk.excelparser;
+
+import org.javafunk.example.domain.Section;
+import org.javafunk.example.domain.Student;
+import org.javafunk.excelparser.exception.ExcelParsingException;
+import org.javafunk.excelparser.mapping.Accessors;
+import org.javafunk.excelparser.mapping.FieldMapping;
+import org.javafunk.excelparser.mapping.MappingPlan;
+import org.javafunk.excelparser.mapping.MappingPlanCache;
+import org.javafunk.excelparser.mapping.MethodHandleAccessors;
+import org.javafunk.excelparser.mapping.ReflectionAccessors;
+
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Per-row cost of the {@link Accessors} backends on the Student/Section example domain.
+ * Run with {@code gradle jmh -PjmhArgs=AccessorBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class AccessorBenchmark {
+    private static final Consumer<ExcelParsingException> ERROR_HANDLER = error -> {
+        throw error;
+    };
+
+    @Param({"reflection", "methodHandles"})
+    String accessors;
+
+    MappingPlan<Student> plan;
+    Object[] studentRow;
+    SheetParser parser;
+    Sheet sheet;
+
+    @Setup
+    public void setUp() throws IOException {
+        Accessors backend = "reflection".equals(accessors) ? new ReflectionAccessors() : new MethodHandleAccessors();
+        plan = MappingPlan.compile(Student.class, backend);
+        studentRow = new Object[]{2001L, "Adam", new Date(), "A", "D", "XYZ", new BigDecimal("450.35"),
+            LocalDate.of(2002, 10, 10), LocalDateTime.of(2002, 10, 10, 9, 0)};
+
+        parser = new SheetParser(new MappingPlanCache(MappingPlanCache.DEFAULT_MAX_SIZE, backend));
+        try (InputStream inputStream = getClass().getClassLoader().getResourceAsStream("Student Profile.xlsx")) {
+            sheet = new XSSFWorkbook(inputStream).getSheet("Sheet1");
+        }
+    }
+
+    /**
+     * Instantiation plus the nine field writes of one Student row through the plan's
+     * {@code EntityWriter}, as the parser does, without cell conversion. Student has no
+     * primitive fields, so the slots are the field indexes.
+     */
+    @Benchmark
+    public Student populateStudentRow() {
+        Student student = plan.newInstance(ERROR_HANDLER);
+        plan.write(student, studentRow);
+        return student;
+    }
+
+    /**
+     * The same row written with one {@code FieldSetter} call per field.
+     */
+    @Benchmark
+    public Student populateStudentRowFieldByField() {
+        Student student = plan.newInstance(ERROR_HANDLER);
+        List<FieldMapping> fields = plan.getFields();
+        for (int i = 0; i < fields.size(); i++) {
+            fields.get(i).set(student, studentRow[i]);
+        }
+        return student;
+    }
+
+    /**
+     * End to end: one Section and its three Students from Student Profile.xlsx.
+     */
+    @Benchmark
+    public List<Section> createSection() {
+        return parser.createEntity(sheet, Section.class, ERROR_HANDLER);
+    }
+}
@@ -0,0 +1,102 @@
+package org.javafunk.excelparser;
+
+import org.javafunk.excelparser.exception.ExcelParsingException;
+import org.javafunk.excelparser.helper.ExcelCell;
+import org.javafunk.excelparser.helper.HSSFHelper;
+import org.javafunk.excelparser.helper.PoiCell;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Cost of converting one cell to each supported field type with {@link HSSFHelper}.
+ * Run with {@code gradle jmh -PjmhArgs="ConversionBenchmark -prof gc"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ConversionBenchmark {
+    private static final Consumer<ExcelParsingException> ERROR_HANDLER = error -> {
+        throw error;
+    };
+
+    @Param({"xls", "xlsx"})
+    String format;
+
+    @Param({"String", "Double", "BigDecimal", "Long", "Integer", "Date", "LocalDate", "LocalDateTime"})
+    String type;
+
+    Class<?> fieldType;
+    ExcelCell cell;
+    int column;
+
+    @Setup
+    public void setUp() throws IOException {
+        Fixtures.Kind kind;
+        switch (type) {
+            case "String":
+                fieldType = String.class;
+                kind = Fixtures.Kind.TEXT;
+                break;
+            case "Double":
+                fieldType = Double.class;
+                kind = Fixtures.Kind.DOUBLE;
+                break;
+            case "BigDecimal":
+                fieldType = BigDecimal.class;
+                kind = Fixtures.Kind.DOUBLE;
+                break;
+            case "Long":
+                fieldType = Long.class;
+                kind = Fixtures.Kind.LONG;
+                break;
+            case "Integer":
+                fieldType = Integer.class;
+                kind = Fixtures.Kind.INTEGER;
+                break;
+            case "Date":
+                fieldType = Date.class;
+                kind = Fixtures.Kind.DATE;
+                break;
+            case "LocalDate":
+                fieldType = LocalDate.class;
+                kind = Fixtures.Kind.DATE;
+                break;
+            case "LocalDateTime":
+                fieldType = LocalDateTime.class;
+                kind = Fixtures.Kind.DATE;
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown type " + type);
+        }
+        Cell poiCell = Fixtures.mixedCell(Fixtures.workbook(format, 1, 8, Fixtures.TypeMix.mixed), kind);
+        cell = PoiCell.of(poiCell);
+        column = poiCell.getColumnIndex() + 1;
+    }
+
+    @Benchmark
+    public Object convert() {
+        return HSSFHelper.getCellValue(cell, "Sheet1", fieldType, 2, column, false, ERROR_HANDLER);
+    }
+}
@@ -0,0 +1,85 @@
+package org.javafunk.excelparser;
+
+import org.javafunk.excelparser.columnar.ColumnarParser;
+import org.javafunk.excelparser.columnar.ColumnarResult;
+import org.javafunk.excelparser.exception.ExcelParsingException;
+
+import org.apache.poi.ss.usermodel.Sheet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * End to end entity creation from a loaded sheet, per parsing mode, over generated fixtures
+ * of {@code rows} x {@code columns} cells of the given type mix. Workbook loading is not
+ * measured. Run with {@code gradle jmh -PjmhArgs="EntityCreationBenchmark -prof gc"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class EntityCreationBenchmark {
+    private static final Consumer<ExcelParsingException> ERROR_HANDLER = error -> {
+        throw error;
+    };
+
+    @Param({"xls", "xlsx"})
+    String format;
+
+    @Param({"1000", "10000"})
+    int rows;
+
+    @Param({"8", "32"})
+    int columns;
+
+    @Param({"numeric", "text", "mixed"})
+    Fixtures.TypeMix typeMix;
+
+    Sheet sheet;
+    Class<?> rowType;
+    SheetParser parser;
+    ColumnarParser columnarParser;
+
+    @Setup
+    public void setUp() throws IOException {
+        sheet = Fixtures.workbook(format, rows, columns, typeMix).getSheet("Sheet1");
+        rowType = typeMix.getRowType();
+        parser = new SheetParser();
+        columnarParser = new ColumnarParser();
+    }
+
+    @Benchmark
+    public List<?> createEntity() {
+        return parser.createEntity(sheet, rowType, ERROR_HANDLER);
+    }
+
+    @Benchmark
+    public List<?> createEntityWithIterator() {
+        return parser.createEntityWithIterator(sheet, rowType, ERROR_HANDLER);
+    }
+
+    @Benchmark
+    public List<?> createEntityInParallel() {
+        return parser.createEntityInParallel(sheet, rowType, ERROR_HANDLER, 1024);
+    }
+
+    @Benchmark
+    public ColumnarResult parseColumnar() {
+        return columnarParser.parse(sheet, rowType, ERROR_HANDLER);
+    }
+}
@@ -0,0 +1,168 @@
+package org.javafunk.excelparser;
+
+import org.javafunk.example.benchmark.MixedRow;
+import org.javafunk.example.benchmark.NumericRow;
+import org.javafunk.example.benchmark.TextRow;
+
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Date;
+
+/**
+ * Generates benchmark workbooks of a given format ({@code xls} or {@code xlsx}), size and
+ * type mix. Sheets are called "Sheet1"; row 1 holds column titles and data starts on row 2,
+ * matching the {@code org.javafunk.example.benchmark} row classes. Columns past the eighth
+ * repeat the type pattern but are not mapped, so they only add loading and iteration cost.
+ */
+public final class Fixtures {
+    private static final int XLS_MAX_ROWS = 65536;
+    private static final long DAY_MILLISECONDS = 24L * 60 * 60 * 1000;
+    private static final long FIRST_DATE = 946684800000L;
+
+    public enum Kind {
+        TEXT, DOUBLE, LONG, INTEGER, DATE
+    }
+
+    public enum TypeMix {
+        numeric(NumericRow.class, Kind.DOUBLE, Kind.LONG, Kind.INTEGER, Kind.DATE),
+        text(TextRow.class, Kind.TEXT),
+        mixed(MixedRow.class, Kind.TEXT, Kind.DOUBLE, Kind.LONG, Kind.INTEGER, Kind.DATE, Kind.TEXT, Kind.DOUBLE, Kind.LONG);
+
+        private final Class<?> rowType;
+        private final Kind[] pattern;
+
+        TypeMix(Class<?> rowType, Kind... pattern) {
+            this.rowType = rowType;
+            this.pattern = pattern;
+        }
+
+        public Class<?> getRowType() {
+            return rowType;
+        }
+
+        public Kind kindOf(int column) {
+            return pattern[(column - 1) % pattern.length];
+        }
+    }
+
+    private Fixtures() {
+    }
+
+    public static Workbook workbook(String format, int rows, int columns, TypeMix mix) throws IOException {
+        checkSize(format, rows + 1);
+        Workbook workbook = newWorkbook(format);
+        Sheet sheet = workbook.createSheet("Sheet1");
+        CellStyle dateStyle = dateStyle(workbook);
+
+        Row titles = sheet.createRow(0);
+        for (int column = 1; column <= columns; column++) {
+            titles.createCell(column - 1).setCellValue("Column " + column);
+        }
+        for (int index = 0; index < rows; index++) {
+            writeRow(sheet.createRow(index + 1), index, columns, mix, dateStyle);
+        }
+        return reload(workbook);
+    }
+
+    /**
+     * A {@code Batch} header in column B of rows 1 and 2, and {@code lines} {@code BatchLine}s
+     * from row 4 on.
+     */
+    public static Workbook nestedWorkbook(String format, int lines) throws IOException {
+        checkSize(format, lines + 3);
+        Workbook workbook = newWorkbook(format);
+        Sheet sheet = workbook.createSheet("Sheet1");
+        CellStyle dateStyle = dateStyle(workbook);
+
+        sheet.createRow(0).createCell(1).setCellValue("Batch 1");
+        sheet.createRow(1).createCell(1).setCellValue("Benchmarks");
+        for (int index = 0; index < lines; index++) {
+            writeRow(sheet.createRow(index + 3), index, 8, TypeMix.mixed, dateStyle);
+        }
+        return reload(workbook);
+    }
+
+    /**
+     * @return the first data cell of the given kind in a workbook of the {@code mixed} type mix.
+     */
+    public static Cell mixedCell(Workbook workbook, Kind kind) {
+        Row row = workbook.getSheet("Sheet1").getRow(1);
+        for (int column = 1; column <= row.getLastCellNum(); column++) {
+            if (TypeMix.mixed.kindOf(column) == kind) {
+                return row.getCell(column - 1);
+            }
+        }
+        throw new IllegalArgumentException("No " + kind + " column in the fixture");
+    }
+
+    private static void writeRow(Row row, int index, int columns, TypeMix mix, CellStyle dateStyle) {
+        for (int column = 1; column <= columns; column++) {
+            Cell cell = row.createCell(column - 1);
+            switch (mix.kindOf(column)) {
+                case TEXT:
+                    cell.setCellValue("Value " + (index % 1000) + "-" + column);
+                    break;
+                case DOUBLE:
+                    cell.setCellValue(index * 1.25 + column);
+                    break;
+                case LONG:
+                    cell.setCellValue(index * 31L + column);
+                    break;
+                case INTEGER:
+                    cell.setCellValue(index % 10000);
+                    break;
+                case DATE:
+                    cell.setCellValue(new Date(FIRST_DATE + (index % 3650) * DAY_MILLISECONDS));
+                    cell.setCellStyle(dateStyle);
+                    break;
+            }
+        }
+    }
+
+    private static CellStyle dateStyle(Workbook workbook) {
+        CellStyle style = workbook.createCellStyle();
+        style.setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat("yyyy-mm-dd"));
+        return style;
+    }
+
+    private static Workbook newWorkbook(String format) {
+        if ("xls".equals(format)) {
+            return new HSSFWorkbook();
+        }
+        if ("xlsx".equals(format)) {
+            return new XSSFWorkbook();
+        }
+        throw new IllegalArgumentException("Unknown format " + format);
+    }
+
+    private static void checkSize(String format, int rows) {
+        if ("xls".equals(format) && rows > XLS_MAX_ROWS) {
+            throw new IllegalArgumentException("xls sheets hold at most " + XLS_MAX_ROWS + " rows");
+        }
+    }
+
+    /**
+     * Round trips the workbook through its file format, so benchmarks see what a parser
+     * reading a real file sees.
+     */
+    private static Workbook reload(Workbook workbook) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        workbook.write(bytes);
+        try {
+            return WorkbookFactory.create(new ByteArrayInputStream(bytes.toByteArray()));
+        } catch (InvalidFormatException e) {
+            throw new IOException(e);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package org.javafunk.excelparser;
+
+import org.javafunk.example.benchmark.Batch;
+import org.javafunk.excelparser.exception.ExcelParsingException;
+
+import org.apache.poi.ss.usermodel.Sheet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * A column-wise {@link Batch} header with a {@code MappedExcelObject} list of {@code lines}
+ * rows. Run with {@code gradle jmh -PjmhArgs="NestedParsingBenchmark -prof gc"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class NestedParsingBenchmark {
+    private static final Consumer<ExcelParsingException> ERROR_HANDLER = error -> {
+        throw error;
+    };
+
+    @Param({"xls", "xlsx"})
+    String format;
+
+    @Param({"1000", "10000"})
+    int lines;
+
+    Sheet sheet;
+    SheetParser parser;
+
+    @Setup
+    public void setUp() throws IOException {
+        sheet = Fixtures.nestedWorkbook(format, lines).getSheet("Sheet1");
+        parser = new SheetParser();
+    }
+
+    @Benchmark
+    public List<Batch> createEntity() {
+        return parser.createEntity(sheet, Batch.class, ERROR_HANDLER);
+    }
+
+    @Benchmark
+    public List<Batch> createEntityWithIterator() {
+        return parser.createEntityWithIterator(sheet, Batch.class, ERROR_HANDLER);
+    }
+}
@@ -0,0 +1,14 @@
+package org.javafunk.excelparser;
+
+import java.util.List;
+
+/**
+ * Receives the entities of {@link SheetParser#parseInto} in batches, e.g. to add them to a
+ * JDBC batch. The list is reused for the next batch once {@code accept} returns, so copy
+ * whatever has to be kept beyond the call.
+ */
+@FunctionalInterface
+public interface BatchSink<T> {
+
+    void accept(List<T> batch) throws Exception;
+}
@@ -0,0 +1,13 @@
+package org.javafunk.excelparser;
+
+import java.util.Iterator;
+
+/**
+ * Iterator over lazily created entities. Closing it releases the sheet and ends the
+ * iteration.
+ */
+public interface CloseableIterator<T> extends Iterator<T>, AutoCloseable {
+
+    @Override
+    void close();
+}
@@ -0,0 +1,115 @@
+package org.javafunk.excelparser;
+
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+import org.javafunk.excelparser.exception.ExcelParsingException;
+import org.javafunk.excelparser.helper.CellSource;
+import org.javafunk.excelparser.mapping.MappingPlan;
+
+/**
+ * Creates the entity for each location of the block only when it is pulled. The end
+ * detection of the plan is applied as locations are reached, like
+ * {@link StreamingEntityAssembler} does for arriving rows: blank locations are held back
+ * until a location with data follows them, and nothing past the end is read. Locations the
+ * plan skips as empty are passed over, so the number of entities is then only known at the end.
+ */
+class EntityIterator<T> implements CloseableIterator<T> {
+    private final SheetParser parser;
+    private final MappingPlan<T> plan;
+    private final ParseContext context;
+    private final Consumer<ExcelParsingException> errorHandler;
+    private final int last;
+    private CellSource cells;
+    private int currentLocation;
+    private int dataEnd;
+    private int scanned;
+    private boolean ended;
+
+    EntityIterator(SheetParser parser, CellSource cells, MappingPlan<T> plan, int start, int last,
+                   ErrorCollector errors) {
+        this(parser, cells, plan, start, last, new ParseContext(plan.getType(), errors), errors);
+    }
+
+    /**
+     * @param last the last location that may hold data, before end detection.
+     */
+    EntityIterator(SheetParser parser, CellSource cells, MappingPlan<T> plan, int start, int last,
+                   ParseContext context, Consumer<ExcelParsingException> errorHandler) {
+        this.parser = parser;
+        this.cells = cells;
+        this.plan = plan;
+        this.context = context;
+        this.errorHandler = errorHandler;
+        this.currentLocation = start;
+        this.last = last;
+        this.dataEnd = plan.detectsEnd() ? start - 1 : last;
+        this.scanned = dataEnd;
+    }
+
+    /**
+     * @return whether {@link #remaining()} is exact, i.e. no location is skipped and the end
+     * is not detected from the data.
+     */
+    boolean isSized() {
+        return !plan.getExcelObject().ignoreAllZerosOrNullRows() && !plan.detectsEnd();
+    }
+
+    long remaining() {
+        return hasNext() ? last - currentLocation + 1 : 0;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (cells != null) {
+            if (currentLocation > dataEnd && !findMoreData()) {
+                return false;
+            }
+            if (!plan.skips(cells, currentLocation)) {
+                return true;
+            }
+            currentLocation++;
+        }
+        return false;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return parser.createEntity(cells, plan, currentLocation++, context, errorHandler);
+    }
+
+    @Override
+    public void close() {
+        cells = null;
+    }
+
+    /**
+     * Reads on to the next location with data, which confirms the blank locations before it.
+     *
+     * @return false once a key field cell is blank, the sentinel is found,
+     * {@code endAfterBlanks} blank locations follow each other or {@code last} is passed.
+     */
+    private boolean findMoreData() {
+        int blanks = plan.getExcelObject().endAfterBlanks();
+        int run = 0;
+        while (!ended && scanned < last) {
+            int location = ++scanned;
+            if (plan.isEnd(cells, location)) {
+                break;
+            }
+            if (blanks > 0 && plan.isBlank(cells, location)) {
+                if (++run == blanks) {
+                    break;
+                }
+            } else {
+                dataEnd = location;
+                return true;
+            }
+        }
+        ended = true;
+        return false;
+    }
+}
@@ -0,0 +1,129 @@
+package org.javafunk.excelparser;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * Cold {@link Publisher} over lazily created entities. Every subscription opens its own
+ * {@link CloseableIterator} on the first request and creates only as many entities as have
+ * been requested, on the thread that calls {@link Subscription#request(long)}. Exceptions
+ * thrown while creating entities, including those rethrown by the error handler, are
+ * signalled with {@code onError}; cancelling closes the iterator.
+ */
+class EntityPublisher<T> implements Publisher<T> {
+    private final Supplier<? extends CloseableIterator<T>> entities;
+
+    EntityPublisher(Supplier<? extends CloseableIterator<T>> entities) {
+        this.entities = entities;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        Objects.requireNonNull(subscriber, "subscriber");
+        subscriber.onSubscribe(new EntitySubscription<>(subscriber, entities));
+    }
+
+    /**
+     * Emits under a work-in-progress counter, so requests made from {@code onNext} or from
+     * other threads never run the iterator concurrently or recursively.
+     */
+    private static class EntitySubscription<T> implements Subscription {
+        private final Subscriber<? super T> subscriber;
+        private final Supplier<? extends CloseableIterator<T>> source;
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+        private volatile boolean cancelled;
+        private volatile IllegalArgumentException invalidRequest;
+        private CloseableIterator<T> entities;
+        private boolean done;
+
+        EntitySubscription(Subscriber<? super T> subscriber, Supplier<? extends CloseableIterator<T>> source) {
+            this.subscriber = subscriber;
+            this.source = source;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                invalidRequest = new IllegalArgumentException("Requested " + n + " entities, the demand must be positive");
+            } else {
+                requested.accumulateAndGet(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            drain();
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            do {
+                emit();
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void emit() {
+            if (done) {
+                return;
+            }
+            if (cancelled) {
+                finish();
+                return;
+            }
+            if (invalidRequest != null) {
+                finish();
+                subscriber.onError(invalidRequest);
+                return;
+            }
+            long demand = requested.get();
+            long emitted = 0;
+            while (emitted != demand) {
+                T next;
+                try {
+                    if (entities == null) {
+                        entities = source.get();
+                    }
+                    if (!entities.hasNext()) {
+                        finish();
+                        subscriber.onComplete();
+                        return;
+                    }
+                    next = entities.next();
+                } catch (RuntimeException error) {
+                    finish();
+                    subscriber.onError(error);
+                    return;
+                }
+                subscriber.onNext(next);
+                emitted++;
+                if (cancelled) {
+                    finish();
+                    return;
+                }
+            }
+            if (demand != Long.MAX_VALUE) {
+                requested.addAndGet(-emitted);
+            }
+        }
+
+        private void finish() {
+            done = true;
+            if (entities != null) {
+                entities.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package org.javafunk.excelparser;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.javafunk.excelparser.exception.ExcelInvalidCell;
+import org.javafunk.excelparser.exception.ExcelInvalidCellValuesException;
+import org.javafunk.excelparser.exception.ExcelParsingException;
+import org.javafunk.excelparser.mapping.FieldMapping;
+
+import lombok.Value;
+
+/**
+ * Applies an {@link ErrorPolicy} to the errors of one parse call and keeps its invalid
+ * cells. The parser marks the field whose cell it is converting, so conversion errors are
+ * counted and sampled per field without the converters knowing about fields.
+ * <p>
+ * The chunks of a parallel parse each report to a {@link #forChunk() chunk collector}. It
+ * has the collector of the call count and sample every error as it happens, under a lock,
+ * and keeps only what the policy lets through, to be handed to the error handler in row
+ * order once the chunks are done. The policy therefore bounds the memory of a parallel
+ * parse too, and {@code failAfter} aborts it while the chunks run.
+ */
+class ErrorCollector implements Consumer<ExcelParsingException> {
+    private final ErrorPolicy policy;
+    private final Consumer<ExcelParsingException> errorHandler;
+    private final List<ExcelInvalidCell> invalidCells = new ArrayList<>();
+    private final ErrorCollector call;
+    private final List<Recorded> kept;
+    private final Map<FieldMapping, Long> errorsByField = new LinkedHashMap<>();
+    private FieldMapping field;
+    private long errors;
+    private long reportedErrors;
+    private long invalidCellCount;
+    private long keptInvalidCells;
+    private volatile boolean aborted;
+
+    ErrorCollector(ErrorPolicy policy, Consumer<ExcelParsingException> errorHandler) {
+        this(policy, errorHandler, null);
+    }
+
+    private ErrorCollector(ErrorPolicy policy, Consumer<ExcelParsingException> errorHandler, ErrorCollector call) {
+        this.policy = policy;
+        this.errorHandler = errorHandler;
+        this.call = call;
+        this.kept = call == null ? null : new ArrayList<>();
+    }
+
+    /**
+     * @return a collector for one chunk of a parallel parse, confined to the thread parsing
+     * the chunk, that counts against this collector.
+     */
+    ErrorCollector forChunk() {
+        return new ErrorCollector(policy, null, this);
+    }
+
+    /**
+     * @param field the field being converted, {@code null} between fields.
+     */
+    void setField(FieldMapping field) {
+        this.field = field;
+    }
+
+    @Override
+    public void accept(ExcelParsingException error) {
+        reportError(field, error);
+    }
+
+    void reportError(FieldMapping field, ExcelParsingException error) {
+        if (call != null) {
+            if (call.admitError(field)) {
+                kept.add(new Recorded(error, null));
+            }
+            call.checkFailAfter();
+            return;
+        }
+        if (admitError(field)) {
+            errorHandler.accept(error);
+        }
+        checkFailAfter();
+    }
+
+    void reportInvalidCell(FieldMapping field, ExcelInvalidCell cell) {
+        if (call != null) {
+            if (call.admitInvalidCell(field)) {
+                kept.add(new Recorded(null, cell));
+            }
+            call.checkFailAfter();
+            return;
+        }
+        if (admitInvalidCell(field)) {
+            invalidCells.add(cell);
+        }
+        checkFailAfter();
+    }
+
+    /**
+     * Hands what this chunk collector kept to the error handler and the invalid cells of the
+     * call, in order; it has been counted already.
+     */
+    void replayInto(ErrorCollector target) {
+        for (Recorded entry : kept) {
+            if (entry.getError() != null) {
+                target.errorHandler.accept(entry.getError());
+            } else {
+                target.invalidCells.add(entry.getCell());
+            }
+        }
+    }
+
+    /**
+     * @return whether {@code failAfter} has been reached.
+     */
+    boolean isAborted() {
+        return (call != null ? call : this).aborted;
+    }
+
+    List<ExcelInvalidCell> getInvalidCells() {
+        return Collections.unmodifiableList(invalidCells);
+    }
+
+    <T> ParseResult<T> result(List<T> entities) {
+        return new ParseResult<>(entities, getInvalidCells(), summary());
+    }
+
+    synchronized ErrorSummary summary() {
+        Map<String, Long> byField = new LinkedHashMap<>();
+        errorsByField.forEach((mapping, count) ->
+            byField.put(mapping.getField().getDeclaringClass().getSimpleName() + "." + mapping.getField().getName(), count));
+        return new ErrorSummary(errors, reportedErrors, invalidCellCount, keptInvalidCells, Collections.unmodifiableMap(byField), aborted);
+    }
+
+    private synchronized boolean admitError(FieldMapping field) {
+        boolean admitted = count(field) && reportedErrors < policy.getMaxErrors();
+        if (admitted) {
+            reportedErrors++;
+        }
+        return admitted;
+    }
+
+    private synchronized boolean admitInvalidCell(FieldMapping field) {
+        invalidCellCount++;
+        boolean admitted = count(field) && keptInvalidCells < policy.getMaxErrors();
+        if (admitted) {
+            keptInvalidCells++;
+        }
+        return admitted;
+    }
+
+    /**
+     * @return whether the error is within the samples of its field.
+     */
+    private boolean count(FieldMapping field) {
+        errors++;
+        if (field == null) {
+            return true;
+        }
+        return errorsByField.merge(field, 1L, Long::sum) <= policy.getSamplesPerField();
+    }
+
+    private synchronized void checkFailAfter() {
+        if (errors >= policy.getFailAfter()) {
+            aborted = true;
+            throw new ExcelInvalidCellValuesException("Parsing aborted after " + errors + " errors");
+        }
+    }
+
+    @Value
+    private static class Recorded {
+        ExcelParsingException error;
+        ExcelInvalidCell cell;
+    }
+}
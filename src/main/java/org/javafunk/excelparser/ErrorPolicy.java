@@ -0,0 +1,44 @@
+package org.javafunk.excelparser;
+
+import lombok.Value;
+
+/**
+ * Bounds what one parse call keeps of a bad sheet. Every error and invalid cell is counted,
+ * per field where the field is known, but only the first {@code samplesPerField} of a field
+ * and at most {@code maxErrors} in total are passed to the error handler or kept as invalid
+ * cells. Once {@code failAfter} have been counted the parse is aborted with an
+ * {@link org.javafunk.excelparser.exception.ExcelParsingException}.
+ */
+@Value
+public class ErrorPolicy {
+    public static final ErrorPolicy UNLIMITED = new ErrorPolicy(Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE);
+
+    int maxErrors;
+    int samplesPerField;
+    int failAfter;
+
+    private ErrorPolicy(int maxErrors, int samplesPerField, int failAfter) {
+        this.maxErrors = requireNonNegative("maxErrors", maxErrors);
+        this.samplesPerField = requireNonNegative("samplesPerField", samplesPerField);
+        this.failAfter = requireNonNegative("failAfter", failAfter);
+    }
+
+    public ErrorPolicy withMaxErrors(int maxErrors) {
+        return new ErrorPolicy(maxErrors, samplesPerField, failAfter);
+    }
+
+    public ErrorPolicy withSamplesPerField(int samplesPerField) {
+        return new ErrorPolicy(maxErrors, samplesPerField, failAfter);
+    }
+
+    public ErrorPolicy withFailAfter(int failAfter) {
+        return new ErrorPolicy(maxErrors, samplesPerField, failAfter);
+    }
+
+    private static int requireNonNegative(String name, int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException(name + " must not be negative: " + value);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,24 @@
+package org.javafunk.excelparser;
+
+import java.util.Map;
+
+import lombok.Value;
+
+/**
+ * Counts of one parse call under its {@link ErrorPolicy}. {@code errors} includes the
+ * invalid cells; {@code errorsByField} is keyed by {@code "Class.field"}, in the order the
+ * fields first failed.
+ */
+@Value
+public class ErrorSummary {
+    long errors;
+    long reportedErrors;
+    long invalidCells;
+    long keptInvalidCells;
+    Map<String, Long> errorsByField;
+    boolean aborted;
+
+    public long getSuppressed() {
+        return errors - reportedErrors - keptInvalidCells;
+    }
+}
@@ -0,0 +1,117 @@
+package org.javafunk.excelparser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.poi.ss.usermodel.Sheet;
+import org.javafunk.excelparser.helper.SheetCellSource;
+import org.javafunk.excelparser.mapping.MappingPlan;
+
+import lombok.AccessLevel;
+import lombok.Value;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Fork/join task creating the entities at locations {@code [from, to]} of a sheet. Ranges
+ * larger than {@code chunkSize} are split in halves; each chunk is parsed over its own
+ * {@link SheetCellSource} with its own formula evaluator and parse context, so nothing but
+ * the read-only sheet and the parser configuration is shared between threads. POI
+ * evaluators are not thread-safe, and one shared evaluator would serialize formula cells
+ * across the workers. Chunks are returned in row order with their entities, errors and
+ * invalid cells, to be merged by the caller.
+ * <p>
+ * Errors are counted against the collector of the call as they happen, so once
+ * {@code failAfter} is reached every chunk stops at its next location. A chunk stopped by
+ * any other exception stops only the chunks after it, whose entities would be dropped anyway.
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+class ParallelEntityTask<T> extends RecursiveTask<List<ParallelEntityTask.Chunk<T>>> {
+    SheetParser parser;
+    Sheet sheet;
+    MappingPlan<T> plan;
+    int from;
+    int to;
+    int chunkSize;
+    ErrorCollector errors;
+    AtomicInteger stopAfter;
+
+    ParallelEntityTask(SheetParser parser, Sheet sheet, MappingPlan<T> plan, int from, int to, int chunkSize,
+                       ErrorCollector errors) {
+        this(parser, sheet, plan, from, to, chunkSize, errors, new AtomicInteger(Integer.MAX_VALUE));
+    }
+
+    private ParallelEntityTask(SheetParser parser, Sheet sheet, MappingPlan<T> plan, int from, int to, int chunkSize,
+                               ErrorCollector errors, AtomicInteger stopAfter) {
+        this.parser = parser;
+        this.sheet = sheet;
+        this.plan = plan;
+        this.from = from;
+        this.to = to;
+        this.chunkSize = chunkSize;
+        this.errors = errors;
+        this.stopAfter = stopAfter;
+    }
+
+    @Override
+    protected List<Chunk<T>> compute() {
+        if (to - from < chunkSize) {
+            List<Chunk<T>> chunks = new ArrayList<>(1);
+            chunks.add(parseChunk());
+            return chunks;
+        }
+
+        int middle = from + (to - from) / 2;
+        ParallelEntityTask<T> left = new ParallelEntityTask<>(parser, sheet, plan, from, middle, chunkSize, errors, stopAfter);
+        ParallelEntityTask<T> right = new ParallelEntityTask<>(parser, sheet, plan, middle + 1, to, chunkSize, errors, stopAfter);
+        left.fork();
+        List<Chunk<T>> rightChunks = right.compute();
+        List<Chunk<T>> chunks = left.join();
+        chunks.addAll(rightChunks);
+        return chunks;
+    }
+
+    private Chunk<T> parseChunk() {
+        SheetCellSource cells = parser.chunkCellSource(sheet);
+        ErrorCollector chunkErrors = errors.forChunk();
+        ParseContext context = new ParseContext(plan.getType(), chunkErrors);
+        List<T> entities = new ArrayList<>(to - from + 1);
+        RuntimeException failure = null;
+        int location = from;
+        try {
+            for (; location <= to && location <= stopAfter.get(); location++) {
+                if (!plan.skips(cells, location)) {
+                    entities.add(parser.createEntity(cells, plan, location, context, chunkErrors));
+                }
+            }
+        } catch (RuntimeException e) {
+            failure = e;
+            int stop = chunkErrors.isAborted() ? Integer.MIN_VALUE : location;
+            stopAfter.accumulateAndGet(stop, Math::min);
+        }
+        return new Chunk<>(entities, chunkErrors, failure);
+    }
+
+    /**
+     * Outcome of one chunk: its entities and the errors and invalid cells the
+     * {@link ErrorPolicy} of the call kept. {@code failure} is the exception that stopped the
+     * chunk early, e.g. a {@code HARD} validation failure or the abort after
+     * {@code failAfter} errors, rethrown once the preceding chunks and this chunk's errors
+     * have been merged.
+     */
+    @Value
+    static class Chunk<T> {
+        List<T> entities;
+        ErrorCollector errors;
+        RuntimeException failure;
+
+        void mergeInto(List<T> list, ErrorCollector target) {
+            errors.replayInto(target);
+            if (failure != null) {
+                throw failure;
+            }
+            list.addAll(entities);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package org.javafunk.excelparser;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.javafunk.excelparser.mapping.MappingPlan;
+
+/**
+ * State of one parse call. A {@code MappedExcelObject} block does not depend on its parent,
+ * so each block is created once and handed to every parent; the classes whose blocks are
+ * being created are tracked to stop cyclic mappings. Errors of the call go through its
+ * {@link ErrorCollector}, and deduplicated strings share its {@link StringPool}.
+ */
+class ParseContext {
+    private final Map<Class<?>, List<?>> blocks = new HashMap<>();
+    private final Set<Class<?>> inProgress = new LinkedHashSet<>();
+    private final ErrorCollector errors;
+    private StringPool strings;
+    private final Map<Class<?>, Object[]> values = new HashMap<>();
+    private Class<?> lastValuesType;
+    private Object[] lastValues;
+
+    ParseContext(Class<?> root, ErrorCollector errors) {
+        this.errors = errors;
+        inProgress.add(root);
+    }
+
+    ErrorCollector getErrors() {
+        return errors;
+    }
+
+    /**
+     * @return the string pool of the call, created on first use.
+     */
+    StringPool getStrings() {
+        if (strings == null) {
+            strings = new StringPool();
+        }
+        return strings;
+    }
+
+    /**
+     * @return the array the values of an entity of the plan's type are collected in before
+     * they are written, reused for every entity of that type in the call.
+     */
+    Object[] getValues(MappingPlan<?> plan) {
+        if (lastValuesType != plan.getType()) {
+            lastValues = values.computeIfAbsent(plan.getType(), type -> plan.newValues());
+            lastValuesType = plan.getType();
+        }
+        return lastValues;
+    }
+
+    @SuppressWarnings("unchecked")
+    <C> List<C> getBlock(Class<C> type) {
+        return (List<C>) blocks.get(type);
+    }
+
+    void putBlock(Class<?> type, List<?> block) {
+        blocks.put(type, block);
+    }
+
+    /**
+     * @return {@code false} if {@code type} is already being created further up, i.e. the
+     * mapping is cyclic.
+     */
+    boolean enter(Class<?> type) {
+        return inProgress.add(type);
+    }
+
+    void exit(Class<?> type) {
+        inProgress.remove(type);
+    }
+
+    String describeCycle(Class<?> type) {
+        return inProgress.stream().map(Class::getSimpleName).collect(Collectors.joining(" -> ")) + " -> " + type.getSimpleName();
+    }
+}
@@ -0,0 +1,23 @@
+package org.javafunk.excelparser;
+
+import java.util.List;
+
+import org.javafunk.excelparser.exception.ExcelInvalidCell;
+
+import lombok.Value;
+
+/**
+ * Outcome of one {@link SheetParser} call: the entities, the invalid cells kept under the
+ * {@link ErrorPolicy} and the error counts. Nothing of a call is left on the parser, so
+ * results of calls running at the same time never mix.
+ */
+@Value
+public class ParseResult<T> {
+    List<T> entities;
+    List<ExcelInvalidCell> invalidCells;
+    ErrorSummary errorSummary;
+
+    public boolean hasInvalidCells() {
+        return !invalidCells.isEmpty();
+    }
+}
@@ -0,0 +1,117 @@
+package org.javafunk.excelparser;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import org.javafunk.excelparser.exception.ExcelParsingException;
+
+/**
+ * Hands full batches to a consumer thread that loads them into the {@link BatchSink}, so
+ * parsing and loading overlap. Up to {@code queuedBatches} batches wait for the sink and one
+ * is being filled; the lists cycle between the two threads through bounded queues, so no
+ * more than {@code queuedBatches + 1} batches ever exist. Once the sink fails, the consumer
+ * only recycles the lists and the parsing thread rethrows the failure at its next hand-off.
+ */
+class QueuedSinkBatcher<T> extends SinkBatcher<T> {
+    private static final List<Object> END = Collections.emptyList();
+
+    private final BlockingQueue<List<T>> full;
+    private final BlockingQueue<List<T>> free;
+    private final Thread consumer;
+    private volatile Throwable failure;
+    private boolean ended;
+
+    QueuedSinkBatcher(BatchSink<T> sink, int batchSize, int queuedBatches) {
+        super(sink, batchSize);
+        this.full = new ArrayBlockingQueue<>(queuedBatches + 2);
+        this.free = new ArrayBlockingQueue<>(queuedBatches);
+        for (int i = 0; i < queuedBatches; i++) {
+            free.add(new ArrayList<>(batchSize));
+        }
+        this.consumer = new Thread(this::loadBatches, "excel-parser-batch-sink");
+        consumer.setDaemon(true);
+        consumer.start();
+    }
+
+    @Override
+    List<T> handOff(List<T> batch) {
+        rethrowFailure();
+        try {
+            full.put(batch);
+            return free.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ExcelParsingException("Interrupted while handing a batch to the sink", e);
+        }
+    }
+
+    /**
+     * Hands over the last batch and waits until the sink has loaded every batch.
+     */
+    @Override
+    void finish() {
+        super.finish();
+        end();
+        rethrowFailure();
+    }
+
+    @Override
+    public void close() {
+        end();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void end() {
+        if (ended) {
+            return;
+        }
+        ended = true;
+        boolean interrupted = false;
+        while (true) {
+            try {
+                full.put((List<T>) (List<?>) END);
+                consumer.join();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void loadBatches() {
+        try {
+            for (List<T> batch = full.take(); batch != END; batch = full.take()) {
+                if (failure == null) {
+                    try {
+                        load(batch);
+                    } catch (Throwable e) {
+                        failure = e;
+                    }
+                }
+                batch.clear();
+                free.put(batch);
+            }
+        } catch (InterruptedException e) {
+            failure = e;
+        }
+    }
+
+    private void rethrowFailure() {
+        Throwable e = failure;
+        if (e instanceof RuntimeException) {
+            throw (RuntimeException) e;
+        }
+        if (e instanceof Error) {
+            throw (Error) e;
+        }
+        if (e != null) {
+            throw loadFailed((Exception) e);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package org.javafunk.excelparser;
+
+import lombok.Value;
+
+/**
+ * Binds a sheet, by name, to the {@code ExcelObject} class its entities are parsed into.
+ */
+@Value
+public class SheetBinding<T> {
+    String sheetName;
+    Class<T> type;
+
+    public static <T> SheetBinding<T> of(String sheetName, Class<T> type) {
+        return new SheetBinding<>(sheetName, type);
+    }
+}
@@ -1,279 +1,552 @@
 package org.javafunk.excelparser;
 
-import static org.javafunk.excelparser.helper.HSSFHelper.getRow;
-
-import java.lang.reflect.Constructor;
-import java.lang.reflect.Field;
-import java.lang.reflect.ParameterizedType;
-import java.lang.reflect.Type;
+import java.io.File;
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.Iterator;
+import java.util.Collections;
 import java.util.List;
-import java.util.Map;
-import java.util.OptionalInt;
-import java.util.Set;
-import java.util.TreeMap;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Consumer;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.javafunk.excelparser.annotations.ExcelField;
 import org.javafunk.excelparser.annotations.ExcelObject;
-import org.javafunk.excelparser.annotations.MappedExcelObject;
 import org.javafunk.excelparser.annotations.ParseType;
 import org.javafunk.excelparser.exception.ExcelInvalidCell;
 import org.javafunk.excelparser.exception.ExcelInvalidCellValuesException;
 import org.javafunk.excelparser.exception.ExcelParsingException;
-import org.javafunk.excelparser.helper.HSSFHelper;
+import org.javafunk.excelparser.helper.CellConverters;
+import org.javafunk.excelparser.helper.CellSource;
+import org.javafunk.excelparser.helper.ExcelCell;
+import org.javafunk.excelparser.helper.FormulaEvaluators;
+import org.javafunk.excelparser.helper.FormulaMode;
+import org.javafunk.excelparser.helper.SheetCellSource;
+import org.javafunk.excelparser.mapping.ChildMapping;
+import org.javafunk.excelparser.mapping.FieldMapping;
+import org.javafunk.excelparser.mapping.MappingPlan;
+import org.javafunk.excelparser.mapping.MappingPlanCache;
+import org.javafunk.excelparser.metrics.ParseMetrics;
+import org.javafunk.excelparser.streaming.SheetReader;
+import org.reactivestreams.Publisher;
 
 import lombok.AccessLevel;
 import lombok.experimental.FieldDefaults;
 
+/**
+ * Creates {@code ExcelObject} entities from sheets. A parser only holds configuration (the
+ * mapping plans with their converters and validators, the metrics, the {@link ErrorPolicy}
+ * and the {@link FormulaMode}) and, if given, the thread-safe cache of formula evaluators
+ * per workbook; the state of a call lives in that call, so one parser can be shared by any
+ * number of threads.
+ */
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 public class SheetParser {
-    List<ExcelInvalidCell> excelInvalidCells;
+    MappingPlanCache mappingPlans;
+    ParseMetrics metrics;
+    boolean metered;
+    ErrorPolicy errorPolicy;
+    FormulaMode formulaMode;
+    FormulaEvaluators evaluators;
 
     public SheetParser() {
-        excelInvalidCells = new ArrayList<>();
+        this(new MappingPlanCache());
+    }
+
+    public SheetParser(MappingPlanCache mappingPlans) {
+        this(mappingPlans, ParseMetrics.NONE);
+    }
+
+    public SheetParser(MappingPlanCache mappingPlans, ParseMetrics metrics) {
+        this(mappingPlans, metrics, ErrorPolicy.UNLIMITED);
+    }
+
+    public SheetParser(MappingPlanCache mappingPlans, ParseMetrics metrics, ErrorPolicy errorPolicy) {
+        this(mappingPlans, metrics, errorPolicy, FormulaMode.EVALUATE_ONCE);
+    }
+
+    public SheetParser(MappingPlanCache mappingPlans, ParseMetrics metrics, ErrorPolicy errorPolicy, FormulaMode formulaMode) {
+        this(mappingPlans, metrics, errorPolicy, formulaMode, null);
+    }
+
+    /**
+     * @param evaluators a cache keeping formula evaluators, and the results they memoize,
+     * across calls; the caller releases each workbook from it when done. Null, the default,
+     * gives every call an evaluator of its own.
+     */
+    public SheetParser(MappingPlanCache mappingPlans, ParseMetrics metrics, ErrorPolicy errorPolicy, FormulaMode formulaMode,
+                       FormulaEvaluators evaluators) {
+        this.mappingPlans = mappingPlans;
+        this.metrics = metrics;
+        this.metered = metrics != ParseMetrics.NONE;
+        this.errorPolicy = errorPolicy;
+        this.formulaMode = formulaMode;
+        this.evaluators = evaluators;
     }
 
     public <T> List<T> createEntity(Sheet sheet, Class<T> clazz, Consumer<ExcelParsingException> errorHandler) {
+        return parse(sheet, clazz, errorHandler).getEntities();
+    }
+
+    /**
+     * Same as {@link #createEntity(Sheet, Class, Consumer)}, returning the invalid cells and
+     * error counts of this call with the entities. A call stopped by {@code HARD} validation
+     * or by {@code failAfter} throws an {@link ExcelInvalidCellValuesException} carrying the
+     * invalid cells kept until then.
+     */
+    public <T> ParseResult<T> parse(Sheet sheet, Class<T> clazz, Consumer<ExcelParsingException> errorHandler) {
+        long start = startClock();
+        ErrorCollector errors = collect(errorHandler);
+        MappingPlan<T> plan = getMappingPlan(clazz, errors);
+        List<T> list;
+        try {
+            list = createEntity(startReading(sheet), plan, new ParseContext(clazz, errors), errors);
+        } catch (ExcelInvalidCellValuesException e) {
+            throw withInvalidCells(e, errors);
+        }
+        sheetParsed(sheet.getSheetName(), clazz, list.size(), start);
+        return errors.result(list);
+    }
+
+    <T> List<T> createEntity(CellSource cells, MappingPlan<T> plan, ParseContext context, Consumer<ExcelParsingException> errorHandler) {
         List<T> list = new ArrayList<>();
-        ExcelObject excelObject = getExcelObject(clazz, errorHandler);
+        ExcelObject excelObject = plan.getExcelObject();
         if (excelObject.start() <= 0 || excelObject.end() < 0) {
             return list;
         }
-        int end = getEnd(sheet, clazz, excelObject);
-
-        for (int currentLocation = excelObject.start(); currentLocation <= end; currentLocation++) {
-            T object = getNewInstance(sheet, clazz, excelObject.parseType(), currentLocation, excelObject.zeroIfNull(),
-                errorHandler);
-            List<Field> mappedExcelFields = getMappedExcelObjects(clazz);
-            for (Field mappedField : mappedExcelFields) {
-                Class<?> fieldType = mappedField.getType();
-                Class<?> clazz1 = fieldType.equals(List.class) ? getFieldType(mappedField) : fieldType;
-                List<?> fieldValue = createEntity(sheet, clazz1, errorHandler);
-                if (fieldType.equals(List.class)) {
-                    setFieldValue(mappedField, object, fieldValue);
-                } else if (!fieldValue.isEmpty()) {
-                    setFieldValue(mappedField, object, fieldValue.get(0));
-                }
-            }
-            list.add(object);
-        }
+        plan = plan.bind(cells, errorHandler);
+        new EntityIterator<>(this, cells, plan, excelObject.start(), getLast(cells, plan), context, errorHandler)
+            .forEachRemaining(list::add);
         return list;
     }
 
-    public <T> List<T> createEntityWithIterator(Sheet sheet, Class<T> clazz, Consumer<ExcelParsingException> errorHandler) {
-        List<T> list = new ArrayList<T>();
+    /**
+     * Parallel alternative to {@link #createEntity(Sheet, Class, Consumer)} for very large
+     * sheets: the locations from {@code ExcelObject.start()} to the end are split into chunks
+     * of {@code chunkSize} converted on the common fork/join pool. Each chunk evaluates
+     * formulas with its own evaluator, so formula cells are converted in parallel too, but
+     * a formula is evaluated once per chunk rather than once per workbook. The sheet must
+     * not be modified while the parse runs.
+     */
+    public <T> List<T> createEntityInParallel(Sheet sheet, Class<T> clazz, Consumer<ExcelParsingException> errorHandler, int chunkSize) {
+        return createEntityInParallel(sheet, clazz, errorHandler, chunkSize, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Entities come back in sheet order and errors reach {@code errorHandler} in row order,
+     * chunk by chunk, once all chunks are converted; an exception thrown by the handler or by
+     * {@code HARD} validation surfaces as it would sequentially. The {@link ErrorPolicy} is
+     * applied while the chunks run: the counts are exact, but the errors sampled are the
+     * first ones the workers reach rather than the first ones in row order. Reaching
+     * {@code failAfter} stops every chunk.
+     */
+    public <T> List<T> createEntityInParallel(Sheet sheet, Class<T> clazz, Consumer<ExcelParsingException> errorHandler,
+                                              int chunkSize, ForkJoinPool pool) {
+        return parseInParallel(sheet, clazz, errorHandler, chunkSize, pool).getEntities();
+    }
 
-        ExcelObject excelObject = getExcelObject(clazz, errorHandler);
+    /**
+     * Same as {@link #createEntityInParallel(Sheet, Class, Consumer, int, ForkJoinPool)},
+     * returning the invalid cells and error counts of this call with the entities.
+     */
+    public <T> ParseResult<T> parseInParallel(Sheet sheet, Class<T> clazz, Consumer<ExcelParsingException> errorHandler,
+                                              int chunkSize, ForkJoinPool pool) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize must be positive: " + chunkSize);
+        }
+        long start = startClock();
+        ErrorCollector errors = collect(errorHandler);
+        List<T> list = new ArrayList<>();
+        MappingPlan<T> plan = getMappingPlan(clazz, errors);
+        ExcelObject excelObject = plan.getExcelObject();
         if (excelObject.start() <= 0 || excelObject.end() < 0) {
-            return list;
+            return errors.result(list);
         }
-        int end = getEnd(sheet, clazz, excelObject);
-        for (int currentLocation = excelObject.start(); currentLocation <= end; currentLocation++) {
-            T object = getNewInstance(sheet.iterator(), sheet.getSheetName(), clazz, excelObject.parseType(), currentLocation, excelObject.zeroIfNull(),
-                errorHandler);
-            List<Field> mappedExcelFields = getMappedExcelObjects(clazz);
-            for (Field mappedField : mappedExcelFields) {
-                Class<?> fieldType = mappedField.getType();
-                Class<?> clazz1 = fieldType.equals(List.class) ? getFieldType(mappedField) : fieldType;
-                List<?> fieldValue = createEntityWithIterator(sheet, clazz1, errorHandler);
-                if (fieldType.equals(List.class)) {
-                    setFieldValue(mappedField, object, fieldValue);
-                } else if (!fieldValue.isEmpty()) {
-                    setFieldValue(mappedField, object, fieldValue.get(0));
-                }
+        SheetCellSource cells = startReading(sheet);
+        plan = plan.bind(cells, errors);
+        int end = getEnd(cells, plan);
+        if (end < excelObject.start()) {
+            return errors.result(list);
+        }
+
+        List<ParallelEntityTask.Chunk<T>> chunks = pool.invoke(
+            new ParallelEntityTask<>(this, sheet, plan, excelObject.start(), end, chunkSize, errors));
+        try {
+            for (ParallelEntityTask.Chunk<T> chunk : chunks) {
+                chunk.mergeInto(list, errors);
             }
-            list.add(object);
+        } catch (ExcelInvalidCellValuesException e) {
+            throw withInvalidCells(e, errors);
         }
+        sheetParsed(sheet.getSheetName(), clazz, list.size(), start);
+        return errors.result(list);
+    }
 
-        return list;
+    <T> T createEntity(CellSource cells, MappingPlan<T> plan, int currentLocation, ParseContext context,
+                       Consumer<ExcelParsingException> errorHandler) {
+        T object = getNewInstance(cells, plan, currentLocation, context, errorHandler);
+        for (ChildMapping child : plan.getChildren()) {
+            List<?> block = getChildBlock(cells, child.getType(), context, errorHandler);
+            child.set(object, child.isCopy() ? copy(block, errorHandler) : block);
+        }
+        return object;
+    }
+
+    private <C> List<C> getChildBlock(CellSource cells, Class<C> type, ParseContext context, Consumer<ExcelParsingException> errorHandler) {
+        List<C> block = context.getBlock(type);
+        if (block != null) {
+            return block;
+        }
+        if (!context.enter(type)) {
+            errorHandler.accept(new ExcelParsingException("Invalid class configuration - cyclic MappedExcelObject mapping - " + context.describeCycle(type)));
+            return Collections.emptyList();
+        }
+        try {
+            block = createEntity(cells, getMappingPlan(type, errorHandler), context, errorHandler);
+        } finally {
+            context.exit(type);
+        }
+        context.putBlock(type, block);
+        return block;
     }
 
-    private <T> int getEnd(Sheet sheet, Class<T> clazz, ExcelObject excelObject) {
-        int end = excelObject.end();
-        if (end > 0) {
-            return end;
+    private <C> List<C> copy(List<C> block, Consumer<ExcelParsingException> errorHandler) {
+        List<C> copies = new ArrayList<>(block.size());
+        for (C entity : block) {
+            copies.add(copy(entity, errorHandler));
+        }
+        return copies;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <C> C copy(C entity, Consumer<ExcelParsingException> errorHandler) {
+        if (entity == null) {
+            return null;
         }
-        return getRowOrColumnEnd(sheet, clazz);
+        MappingPlan<C> plan = getMappingPlan((Class<C>) entity.getClass(), errorHandler);
+        C copy = plan.newInstance(errorHandler);
+        for (FieldMapping field : plan.getFields()) {
+            field.set(copy, field.get(entity));
+        }
+        for (ChildMapping child : plan.getChildren()) {
+            Object value = child.get(entity);
+            if (value instanceof List) {
+                child.set(copy, copy((List<?>) value, errorHandler));
+            } else if (value != null) {
+                child.set(copy, Collections.singletonList(copy(value, errorHandler)));
+            }
+        }
+        return copy;
     }
 
     /**
-     * @deprecated Pass an error handler lambda instead (see other signature)
+     * Lazy alternative to {@link #createEntity(Sheet, Class, Consumer)}: each entity is
+     * created only when the stream pulls it, so {@code limit} and {@code findFirst} stop
+     * parsing early. Close the stream to release the sheet.
      */
-    @Deprecated
-    public <T> List<T> createEntity(Sheet sheet, String sheetName, Class<T> clazz) {
-        return createEntity(sheet, clazz, error -> {
+    public <T> Stream<T> stream(Sheet sheet, Class<T> clazz, Consumer<ExcelParsingException> errorHandler) {
+        ErrorCollector errors = collect(errorHandler);
+        EntityIterator<T> iterator = iterator(startReading(sheet), getMappingPlan(clazz, errors), errors);
+        Spliterator<T> spliterator = iterator.isSized()
+            ? Spliterators.spliterator(iterator, iterator.remaining(), Spliterator.ORDERED)
+            : Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED);
+        return StreamSupport.stream(spliterator, false).onClose(iterator::close);
+    }
+
+    public <T> CloseableIterator<T> iterator(Sheet sheet, Class<T> clazz, Consumer<ExcelParsingException> errorHandler) {
+        ErrorCollector errors = collect(errorHandler);
+        return iterator(startReading(sheet), getMappingPlan(clazz, errors), errors);
+    }
+
+    /**
+     * Reactive alternative to {@link #stream(Sheet, Class, Consumer)}: each subscription
+     * parses the sheet again and creates only as many entities as its subscriber has
+     * requested. Errors the handler rethrows end the subscription with {@code onError}.
+     */
+    public <T> Publisher<T> publish(Sheet sheet, Class<T> clazz, Consumer<ExcelParsingException> errorHandler) {
+        return new EntityPublisher<>(() -> iterator(sheet, clazz, errorHandler));
+    }
+
+    /**
+     * Same as {@link #publish(Sheet, Class, Consumer)}, signalling the first invalid cell
+     * with {@code onError}.
+     */
+    public <T> Publisher<T> publish(Sheet sheet, Class<T> clazz) {
+        return publish(sheet, clazz, error -> {
             throw error;
         });
     }
 
-    public <T> int getRowOrColumnEnd(Sheet sheet, Class<T> clazz) {
-        ExcelObject excelObject = getExcelObject(clazz, e -> {
-            throw e;
-        });
-        ParseType parseType = excelObject.parseType();
-        if (parseType == ParseType.ROW) {
-            return sheet.getLastRowNum() + 1;
+    private <T> EntityIterator<T> iterator(CellSource cells, MappingPlan<T> plan, ErrorCollector errors) {
+        ExcelObject excelObject = plan.getExcelObject();
+        if (excelObject.start() <= 0 || excelObject.end() < 0) {
+            return new EntityIterator<>(this, cells, plan, 1, 0, errors);
         }
+        MappingPlan<T> bound = plan.bind(cells, errors);
+        return new EntityIterator<>(this, cells, bound, excelObject.start(), getLast(cells, bound), errors);
+    }
+
+    /**
+     * Parses the sheet straight into {@code sink}, in batches of {@code batchSize} entities,
+     * so only one batch is held at a time. Returns the number of entities loaded.
+     */
+    public <T> int parseInto(Sheet sheet, Class<T> clazz, BatchSink<T> sink, int batchSize) {
+        return parseInto(sheet, clazz, sink, batchSize, error -> {
+            throw error;
+        });
+    }
 
-        Set<Integer> positions = getExcelFieldPositionMap(clazz).keySet();
-        OptionalInt maxPosition = positions.stream().mapToInt((x) -> x).max();
-        OptionalInt minPosition = positions.stream().mapToInt((x) -> x).min();
+    public <T> int parseInto(Sheet sheet, Class<T> clazz, BatchSink<T> sink, int batchSize,
+                             Consumer<ExcelParsingException> errorHandler) {
+        return parseInto(sheet, clazz, sink, batchSize, errorHandler, 0);
+    }
 
-        int maxCellNumber = 0;
-        for (int i = minPosition.getAsInt(); i < maxPosition.getAsInt(); i++) {
-            int cellsNumber = sheet.getRow(i).getLastCellNum();
-            if (maxCellNumber < cellsNumber) {
-                maxCellNumber = cellsNumber;
-            }
+    /**
+     * With {@code queuedBatches} above 0, the batches are loaded on a separate consumer thread
+     * while parsing goes on; parsing waits once {@code queuedBatches} batches are waiting for
+     * the sink. An exception thrown by the sink is rethrown on the calling thread.
+     */
+    public <T> int parseInto(Sheet sheet, Class<T> clazz, BatchSink<T> sink, int batchSize,
+                             Consumer<ExcelParsingException> errorHandler, int queuedBatches) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be positive: " + batchSize);
+        }
+        if (queuedBatches < 0) {
+            throw new IllegalArgumentException("queuedBatches must not be negative: " + queuedBatches);
+        }
+        long start = startClock();
+        ErrorCollector errors = collect(errorHandler);
+        MappingPlan<T> plan = getMappingPlan(clazz, errors);
+        try (SinkBatcher<T> batches = queuedBatches == 0
+                 ? new SinkBatcher<>(sink, batchSize)
+                 : new QueuedSinkBatcher<>(sink, batchSize, queuedBatches);
+             EntityIterator<T> entities = iterator(startReading(sheet), plan, errors)) {
+            entities.forEachRemaining(batches);
+            batches.finish();
+            sheetParsed(sheet.getSheetName(), clazz, batches.getCount(), start);
+            return batches.getCount();
         }
-        return maxCellNumber;
     }
 
-    private Class<?> getFieldType(Field field) {
-        Type type = field.getGenericType();
-        if (type instanceof ParameterizedType) {
-            ParameterizedType pt = (ParameterizedType) type;
-            return (Class<?>) pt.getActualTypeArguments()[0];
+    /**
+     * Creates the entities with a single forward pass over {@link Sheet#iterator()}. Rows
+     * needed by nested {@code MappedExcelObject} blocks are kept while the pass runs, so
+     * the cost is linear in the size of the sheet.
+     */
+    public <T> List<T> createEntityWithIterator(Sheet sheet, Class<T> clazz, Consumer<ExcelParsingException> errorHandler) {
+        long start = startClock();
+        ErrorCollector errors = collect(errorHandler);
+        List<T> list = new ArrayList<>();
+        MappingPlan<T> plan = getMappingPlan(clazz, errors);
+        StreamingEntityAssembler<T> cursor = new StreamingEntityAssembler<>(this, plan, sheet.getSheetName(), list::add, errors);
+        SheetCellSource cells = startReading(sheet);
+        int lastNeededRow = cursor.getLastNeededRow();
+        for (Row row : sheet) {
+            if (row.getRowNum() + 1 > lastNeededRow) {
+                break;
+            }
+            cursor.accept(cells.getRow(row));
+            if (cursor.isDone()) {
+                break;
+            }
         }
+        cursor.finish();
+        sheetParsed(sheet.getSheetName(), clazz, list.size(), start);
+        return list;
+    }
 
-        return null;
+    /**
+     * Streaming parse shared by the streaming parsers: {@code reader} feeds the rows of the
+     * sheet to a {@link StreamingEntityAssembler} while it reads the file.
+     */
+    <T> void parse(SheetReader reader, File file, String sheetName, Class<T> clazz, Consumer<? super T> consumer,
+                   Consumer<ExcelParsingException> errorHandler) {
+        long start = startClock();
+        ErrorCollector errors = collect(errorHandler);
+        int[] entities = new int[1];
+        Consumer<? super T> counted = entity -> {
+            entities[0]++;
+            consumer.accept(entity);
+        };
+        MappingPlan<T> plan = getMappingPlan(clazz, errors);
+        StreamingEntityAssembler<T> assembler = new StreamingEntityAssembler<>(this, plan, sheetName, counted, errors);
+        reader.read(file, sheetName, assembler, assembler::isDone);
+        assembler.finish();
+        metrics.bytesRead(file.length());
+        sheetParsed(sheetName, clazz, entities[0], start);
     }
 
-    private <T> List<Field> getMappedExcelObjects(Class<T> clazz) {
-        List<Field> fieldList = new ArrayList<>();
-        Field[] fields = clazz.getDeclaredFields();
-        for (Field field : fields) {
-            MappedExcelObject mappedExcelObject = field.getAnnotation(MappedExcelObject.class);
-            if (mappedExcelObject != null) {
-                field.setAccessible(true);
-                fieldList.add(field);
-            }
-        }
-        return fieldList;
+    /**
+     * @return {@code ExcelObject.end()}, or the last row or column of the sheet when it is not
+     * set.
+     */
+    private <T> int getLast(CellSource cells, MappingPlan<T> plan) {
+        int end = plan.getExcelObject().end();
+        return end > 0 ? end : plan.getRowOrColumnEnd(cells);
+    }
+
+    /**
+     * @return {@link #getLast}, shortened by the end detection of the plan, if any. Only
+     * parallel parses need the end before the first entity; the others detect it as they go.
+     */
+    private <T> int getEnd(CellSource cells, MappingPlan<T> plan) {
+        int last = getLast(cells, plan);
+        return plan.detectsEnd() ? plan.findEnd(cells, last) : last;
+    }
+
+    /**
+     * @deprecated Pass an error handler lambda instead (see other signature)
+     */
+    @Deprecated
+    public <T> List<T> createEntity(Sheet sheet, String sheetName, Class<T> clazz) {
+        return createEntity(sheet, clazz, error -> {
+            throw error;
+        });
+    }
+
+    public <T> int getRowOrColumnEnd(Sheet sheet, Class<T> clazz) {
+        Consumer<ExcelParsingException> errorHandler = e -> {
+            throw e;
+        };
+        SheetCellSource cells = cellSource(sheet);
+        return getMappingPlan(clazz, errorHandler).bind(cells, errorHandler).getRowOrColumnEnd(cells);
     }
 
-    private <T> ExcelObject getExcelObject(Class<T> clazz, Consumer<ExcelParsingException> errorHandler) {
-        ExcelObject excelObject = clazz.getAnnotation(ExcelObject.class);
-        if (excelObject == null) {
+    <T> MappingPlan<T> getMappingPlan(Class<T> clazz, Consumer<ExcelParsingException> errorHandler) {
+        MappingPlan<T> plan = mappingPlans.get(clazz);
+        if (plan.getExcelObject() == null) {
             errorHandler.accept(new ExcelParsingException("Invalid class configuration - ExcelObject annotation missing - " + clazz.getSimpleName()));
         }
-        return excelObject;
-    }
-
-    private <T> T getNewInstance(Sheet sheet, Class<T> clazz, ParseType parseType, Integer currentLocation, boolean zeroIfNull, Consumer<ExcelParsingException> errorHandler) {
-        T object = getInstance(clazz, errorHandler);
-        Map<Integer, Field> excelPositionMap = getExcelFieldPositionMap(clazz);
-        for (Integer position : excelPositionMap.keySet()) {
-            Field field = excelPositionMap.get(position);
-            Object cellValue;
-            Object cellValueString;
-            if (ParseType.ROW == parseType) {
-                cellValue = HSSFHelper.getCellValue(sheet, field.getType(), currentLocation, position, zeroIfNull, errorHandler);
-                cellValueString = HSSFHelper.getCellValue(sheet, String.class, currentLocation, position, zeroIfNull, errorHandler);
-            } else {
-                cellValue = HSSFHelper.getCellValue(sheet, field.getType(), position, currentLocation, zeroIfNull, errorHandler);
-                cellValueString = HSSFHelper.getCellValue(sheet, String.class, position, currentLocation, zeroIfNull, errorHandler);
-            }
-            validateAnnotation(field, cellValueString, position, currentLocation);
-            setFieldValue(field, object, cellValue);
-        }
+        return plan;
+    }
 
-        return object;
+    SheetCellSource cellSource(Sheet sheet) {
+        return new SheetCellSource(sheet, formulaMode, evaluators);
     }
 
-    private <T> T getNewInstance(Iterator<Row> rowIterator, String sheetName, Class<T> clazz, ParseType parseType, Integer currentLocation, boolean zeroIfNull, Consumer<ExcelParsingException> errorHandler) {
-        T object = getInstance(clazz, errorHandler);
-        Map<Integer, Field> excelPositionMap = getSortedExcelFieldPositionMap(clazz);
-        Row row = null;
-        for (Integer position : excelPositionMap.keySet()) {
-            Field field = excelPositionMap.get(position);
-            Object cellValue;
-            Object cellValueString;
+    /**
+     * @return a source with an evaluator of its own, for one chunk of a parallel parse;
+     * formula results are then memoized per chunk instead of per workbook.
+     */
+    SheetCellSource chunkCellSource(Sheet sheet) {
+        return new SheetCellSource(sheet, formulaMode);
+    }
 
-            if (ParseType.ROW == parseType) {
-                if (null == row || row.getRowNum() + 1 != currentLocation) {
-                    row = getRow(rowIterator, currentLocation);
-                }
-                cellValue = HSSFHelper.getCellValue(row, sheetName, field.getType(), currentLocation, position, zeroIfNull, errorHandler);
-                cellValueString = HSSFHelper.getCellValue(row, sheetName, String.class, currentLocation, position, zeroIfNull, errorHandler);
-            } else {
-                if (null == row || row.getRowNum() + 1 != position) {
-                    row = getRow(rowIterator, position);
-                }
-                cellValue = HSSFHelper.getCellValue(row, sheetName, field.getType(), position, currentLocation, zeroIfNull, errorHandler);
-                cellValueString = HSSFHelper.getCellValue(row, sheetName, String.class, position, currentLocation, zeroIfNull, errorHandler);
-            }
-            validateAnnotation(field, cellValueString, position, currentLocation);
-            setFieldValue(field, object, cellValue);
+    /**
+     * Opens {@code sheet} for a parse call; under {@link FormulaMode#FULL} this drops the
+     * formula results memoized for its workbook by earlier calls.
+     */
+    private SheetCellSource startReading(Sheet sheet) {
+        if (formulaMode == FormulaMode.FULL && evaluators != null) {
+            evaluators.refresh(sheet.getWorkbook());
         }
+        return cellSource(sheet);
+    }
 
-        return object;
+    /**
+     * Starts the error accounting of a parse call under the {@link ErrorPolicy}.
+     */
+    private ErrorCollector collect(Consumer<ExcelParsingException> errorHandler) {
+        return new ErrorCollector(errorPolicy, observe(errorHandler));
     }
 
-    private void validateAnnotation(Field field, Object cellValueString, int position, int currentLocation) {
-        ExcelField annotation = field.getAnnotation(ExcelField.class);
-        if (annotation.validate()) {
-            Pattern pattern = Pattern.compile(annotation.regex());
-            cellValueString = cellValueString != null ? cellValueString.toString() : "";
-            Matcher matcher = pattern.matcher((String) cellValueString);
-            if (!matcher.matches()) {
-                ExcelInvalidCell excelInvalidCell = new ExcelInvalidCell(position, currentLocation, (String) cellValueString);
-                excelInvalidCells.add(excelInvalidCell);
-                if (annotation.validationType() == ExcelField.ValidationType.HARD) {
-                    throw new ExcelInvalidCellValuesException("Invalid cell value at [" + currentLocation + ", " + position + "] in the sheet. This exception can be suppressed by setting 'validationType' in @ExcelField to 'ValidationType.SOFT");
-                }
-            }
-        }
+    /**
+     * Hands the invalid cells of a call that has been stopped to its caller, which gets no
+     * {@link ParseResult}.
+     */
+    private static ExcelInvalidCellValuesException withInvalidCells(ExcelInvalidCellValuesException e, ErrorCollector errors) {
+        e.setInvalidCells(new ArrayList<>(errors.getInvalidCells()));
+        return e;
     }
 
-    private <T> T getInstance(Class<T> clazz, Consumer<ExcelParsingException> errorHandler) {
-        T object;
-        try {
-            Constructor<T> constructor = clazz.getDeclaredConstructor();
-            constructor.setAccessible(true);
-            object = constructor.newInstance();
-        } catch (Exception e) {
-            errorHandler.accept(new ExcelParsingException("Exception occurred while instantiating the class " + clazz.getName(), e));
-            return null;
+    /**
+     * Wraps {@code errorHandler} to report errors to the metrics; a no-op without metrics.
+     */
+    private Consumer<ExcelParsingException> observe(Consumer<ExcelParsingException> errorHandler) {
+        if (!metered) {
+            return errorHandler;
         }
-        return object;
+        return error -> {
+            metrics.errorReported(error);
+            errorHandler.accept(error);
+        };
     }
 
-    private <T> void setFieldValue(Field field, T object, Object cellValue) {
-        try {
-            field.set(object, cellValue);
-        } catch (IllegalArgumentException | IllegalAccessException e) {
-            throw new ExcelParsingException("Exception occurred while setting field value ", e);
-        }
+    private long startClock() {
+        return metered ? System.nanoTime() : 0L;
     }
 
-    private <T> Map<Integer, Field> getExcelFieldPositionMap(Class<T> clazz) {
-        Map<Integer, Field> fieldMap = new HashMap<>();
-        return fillMap(clazz, fieldMap);
+    private void sheetParsed(String sheetName, Class<?> type, int entities, long start) {
+        if (metered) {
+            metrics.sheetParsed(sheetName, type, entities, System.nanoTime() - start);
+        }
     }
 
-    private <T> Map<Integer, Field> getSortedExcelFieldPositionMap(Class<T> clazz) {
-        Map<Integer, Field> fieldMap = new TreeMap<>();
-        return fillMap(clazz, fieldMap);
+    private <T> T getNewInstance(CellSource cells, MappingPlan<T> plan, int currentLocation, ParseContext context,
+                                 Consumer<ExcelParsingException> errorHandler) {
+        ErrorCollector errors = context.getErrors();
+        Object[] values = context.getValues(plan);
+        long start = startClock();
+        T object = plan.newInstance(errorHandler);
+        long accessorNanos = metered ? System.nanoTime() - start : 0L;
+        ParseType parseType = plan.getExcelObject().parseType();
+        boolean zeroIfNull = plan.getExcelObject().zeroIfNull();
+        for (FieldMapping field : plan.getFields()) {
+            int position = field.getPosition();
+            int row = ParseType.ROW == parseType ? currentLocation : position;
+            int col = ParseType.ROW == parseType ? position : currentLocation;
+            ExcelCell cell = cells.getCell(row, col);
+            start = startClock();
+            errors.setField(field);
+            if (field.isUnboxed()) {
+                field.read(object, cell, cells.getSheetName(), row, col, errorHandler);
+                errors.setField(null);
+                if (metered) {
+                    metrics.cellConverted(field.getType(), System.nanoTime() - start);
+                }
+                continue;
+            }
+            Object cellValue = field.convert(cell, cells.getSheetName(), row, col, zeroIfNull, errorHandler);
+            if (field.isDeduplicated()) {
+                cellValue = context.getStrings().dedupe((String) cellValue);
+            }
+            Object cellValueString = field.isValidated() && field.getType() != String.class
+                ? CellConverters.STRING.convert(cell, cells.getSheetName(), row, col, zeroIfNull, errorHandler)
+                : cellValue;
+            if (metered) {
+                metrics.cellConverted(field.getType(), System.nanoTime() - start);
+            }
+            if (field.isValidated()) {
+                validateAnnotation(field, cellValue, cellValueString, position, currentLocation, errors);
+            }
+            errors.setField(null);
+            values[field.getSlot()] = cellValue;
+        }
+        start = startClock();
+        plan.write(object, values);
+        if (metered) {
+            accessorNanos += System.nanoTime() - start;
+            metrics.entityCreated(plan.getType(), accessorNanos);
+        }
+
+        return object;
     }
 
-    private <T> Map<Integer, Field> fillMap(Class<T> clazz, Map<Integer, Field> fieldMap) {
-        Field[] fields = clazz.getDeclaredFields();
-        for (Field field : fields) {
-            ExcelField excelField = field.getAnnotation(ExcelField.class);
-            if (excelField != null) {
-                field.setAccessible(true);
-                fieldMap.put(excelField.position(), field);
+    private void validateAnnotation(FieldMapping field, Object cellValue, Object cellValueString, int position, int currentLocation,
+                                    ErrorCollector errors) {
+        String text = cellValueString != null ? cellValueString.toString() : "";
+        if (!field.isValid(cellValue, text)) {
+            errors.reportInvalidCell(field, new ExcelInvalidCell(position, currentLocation, text));
+            if (metered) {
+                metrics.validationFailed(field.getField().getDeclaringClass(), field.getField().getName());
+            }
+            if (field.getAnnotation().validationType() == ExcelField.ValidationType.HARD) {
+                throw new ExcelInvalidCellValuesException("Invalid cell value at [" + currentLocation + ", " + position + "] in the sheet. This exception can be suppressed by setting 'validationType' in @ExcelField to 'ValidationType.SOFT");
             }
         }
-        return fieldMap;
     }
 
 }
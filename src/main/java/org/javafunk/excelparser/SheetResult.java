@@ -0,0 +1,27 @@
+package org.javafunk.excelparser;
+
+import java.io.File;
+import java.util.List;
+
+import org.javafunk.excelparser.exception.ExcelInvalidCell;
+import org.javafunk.excelparser.exception.ExcelParsingException;
+
+import lombok.Value;
+
+/**
+ * Outcome of parsing one {@link SheetBinding} of one workbook: the entities, the cells
+ * that failed validation and every error reported while parsing. A sheet that could not
+ * be parsed at all has no entities and the cause in {@code errors}.
+ */
+@Value
+public class SheetResult<T> {
+    File file;
+    SheetBinding<T> binding;
+    List<T> entities;
+    List<ExcelInvalidCell> invalidCells;
+    List<ExcelParsingException> errors;
+
+    public boolean hasErrors() {
+        return !errors.isEmpty();
+    }
+}
@@ -0,0 +1,76 @@
+package org.javafunk.excelparser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.javafunk.excelparser.exception.ExcelParsingException;
+
+/**
+ * Collects entities into one reusable list and hands it to the {@link BatchSink} on the
+ * parsing thread whenever it is full.
+ */
+class SinkBatcher<T> implements Consumer<T>, AutoCloseable {
+    private final BatchSink<T> sink;
+    private final int batchSize;
+    private List<T> batch;
+    private int count;
+
+    SinkBatcher(BatchSink<T> sink, int batchSize) {
+        this.sink = sink;
+        this.batchSize = batchSize;
+        this.batch = new ArrayList<>(batchSize);
+    }
+
+    @Override
+    public void accept(T entity) {
+        batch.add(entity);
+        count++;
+        if (batch.size() == batchSize) {
+            batch = handOff(batch);
+        }
+    }
+
+    /**
+     * Hands over the last, partial batch.
+     */
+    void finish() {
+        if (!batch.isEmpty()) {
+            batch = handOff(batch);
+        }
+    }
+
+    int getCount() {
+        return count;
+    }
+
+    /**
+     * Releases the resources of the batcher, also when the parse failed.
+     */
+    @Override
+    public void close() {
+    }
+
+    /**
+     * @return the empty list to collect the next batch into.
+     */
+    List<T> handOff(List<T> full) {
+        load(full);
+        full.clear();
+        return full;
+    }
+
+    void load(List<T> full) {
+        try {
+            sink.accept(full);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw loadFailed(e);
+        }
+    }
+
+    static ExcelParsingException loadFailed(Exception cause) {
+        return new ExcelParsingException("Exception occurred while loading a batch into the sink", cause);
+    }
+}
@@ -0,0 +1,285 @@
+package org.javafunk.excelparser;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.javafunk.excelparser.annotations.ExcelObject;
+import org.javafunk.excelparser.annotations.ParseType;
+import org.javafunk.excelparser.exception.ExcelParsingException;
+import org.javafunk.excelparser.helper.CellSource;
+import org.javafunk.excelparser.helper.ExcelCell;
+import org.javafunk.excelparser.helper.ExcelRow;
+import org.javafunk.excelparser.mapping.ChildMapping;
+import org.javafunk.excelparser.mapping.FieldMapping;
+import org.javafunk.excelparser.mapping.MappingPlan;
+
+/**
+ * Turns rows arriving in sheet order, from a streaming reader or a single pass over a
+ * {@code Sheet}, into entities of one {@link MappingPlan}.
+ * <p>
+ * {@link ParseType#ROW} entities are created as soon as their row arrives. Rows are kept in
+ * memory only for the mapping shapes that need them, and root entities whose rows arrive
+ * before those rows are complete are held back until they are:
+ * <ul>
+ * <li>a {@link ParseType#ROW} root without children keeps nothing but the blank rows held
+ * back by end detection;</li>
+ * <li>a {@code MappedExcelObject} child, or a root, of {@link ParseType#COLUMN} keeps the rows
+ * of its fields;</li>
+ * <li>a {@link ParseType#ROW} child keeps the rows from its {@code start} to its
+ * {@code end}, and with no {@code end} (e.g. the students of a section) every row to the
+ * end of the sheet, so that the whole sheet is buffered and read;</li>
+ * <li>an {@code ExcelField.header()} bound {@link ParseType#ROW} plan keeps its header row,
+ * and is bound to it before the first entity; a header bound {@link ParseType#COLUMN} plan
+ * does not know its rows up front, so every row is kept for it.</li>
+ * </ul>
+ * Everything still pending is resolved by {@link #finish()}. Once no later row is needed
+ * {@link #isDone()} tells the reader to stop.
+ * <p>
+ * The end detection of the plan is applied as rows arrive: blank rows are held back until
+ * a row with data follows them, and nothing is emitted once the end has been found.
+ */
+class StreamingEntityAssembler<T> implements Consumer<ExcelRow>, CellSource {
+    private final SheetParser parser;
+    private MappingPlan<T> plan;
+    private final String sheetName;
+    private final Consumer<? super T> consumer;
+    private final Consumer<ExcelParsingException> errorHandler;
+    private final ParseContext context;
+
+    private final List<int[]> bufferedRanges = new ArrayList<>();
+    private final Map<Integer, ExcelRow> rows = new HashMap<>();
+    private final List<Integer> pending = new ArrayList<>();
+    private final List<Integer> blankRun = new ArrayList<>();
+    private final boolean streamed;
+    private final int start;
+    private final int end;
+    private int lastBufferedRow;
+    private int nextLocation;
+    private int lastRowNum;
+    private boolean ended;
+    private ExcelRow current;
+
+    StreamingEntityAssembler(SheetParser parser, MappingPlan<T> plan, String sheetName, Consumer<? super T> consumer,
+                             ErrorCollector errors) {
+        this.parser = parser;
+        this.plan = plan;
+        this.sheetName = sheetName;
+        this.consumer = consumer;
+        this.errorHandler = errors;
+        this.context = new ParseContext(plan.getType(), errors);
+
+        ExcelObject excelObject = plan.getExcelObject();
+        streamed = excelObject.parseType() == ParseType.ROW;
+        start = excelObject.start();
+        end = excelObject.end();
+        nextLocation = start;
+        collectBufferedRanges(plan, !streamed, new HashSet<>());
+    }
+
+    @Override
+    public void accept(ExcelRow row) {
+        int rowNum = row.getRowNum();
+        lastRowNum = rowNum;
+        if (isBuffered(rowNum)) {
+            rows.put(rowNum, row);
+        }
+        if (!streamed || start <= 0 || end < 0) {
+            return;
+        }
+        if (!pending.isEmpty() && rowNum > lastBufferedRow) {
+            flushPending();
+        }
+        if (rowNum < nextLocation || (end > 0 && rowNum > end)) {
+            return;
+        }
+        for (; nextLocation < rowNum; nextLocation++) {
+            emitOrDefer(nextLocation, null);
+        }
+        emitOrDefer(rowNum, row);
+        nextLocation = rowNum + 1;
+    }
+
+    /**
+     * @return the number of the last row that can still contribute to an entity.
+     */
+    int getLastNeededRow() {
+        if (!streamed) {
+            return lastBufferedRow;
+        }
+        return end > 0 ? Math.max(end, lastBufferedRow) : Integer.MAX_VALUE;
+    }
+
+    /**
+     * @return whether no later row is needed, because the last needed row has arrived or the
+     * end of the data has been found; the reader can then stop.
+     */
+    boolean isDone() {
+        return lastRowNum >= getLastNeededRow() || ended && lastRowNum >= lastBufferedRow;
+    }
+
+    void finish() {
+        if (!streamed) {
+            parser.createEntity(this, plan, context, errorHandler).forEach(consumer);
+            return;
+        }
+        if (start <= 0 || end < 0) {
+            return;
+        }
+        flushPending();
+        int last = end > 0 ? end : lastRowNum;
+        for (; nextLocation <= last; nextLocation++) {
+            emit(nextLocation);
+        }
+    }
+
+    private void emitOrDefer(int location, ExcelRow row) {
+        if (location > lastBufferedRow) {
+            current = row;
+            emit(location);
+            current = null;
+        } else {
+            if (row != null) {
+                rows.put(location, row);
+            }
+            pending.add(location);
+        }
+    }
+
+    private void flushPending() {
+        for (int location : pending) {
+            emit(location);
+            if (!isBuffered(location) && !blankRun.contains(location)) {
+                rows.remove(location);
+            }
+        }
+        pending.clear();
+    }
+
+    private void emit(int location) {
+        if (ended) {
+            return;
+        }
+        if (plan.isHeaderMapped()) {
+            plan = plan.bind(this, errorHandler);
+        }
+        if (plan.detectsEnd()) {
+            if (plan.isEnd(this, location)) {
+                endData();
+                return;
+            }
+            int blanks = plan.getExcelObject().endAfterBlanks();
+            if (blanks > 0 && plan.isBlank(this, location)) {
+                holdBlank(location, blanks);
+                return;
+            }
+            releaseBlanks();
+        }
+        if (!plan.skips(this, location)) {
+            consumer.accept(parser.createEntity(this, plan, location, context, errorHandler));
+        }
+    }
+
+    private void holdBlank(int location, int blanks) {
+        if (current != null && current.getRowNum() == location) {
+            rows.put(location, current);
+        }
+        blankRun.add(location);
+        if (blankRun.size() == blanks) {
+            endData();
+        }
+    }
+
+    /**
+     * Emits the blank rows held back, now that a row with data follows them.
+     */
+    private void releaseBlanks() {
+        ExcelRow row = current;
+        current = null;
+        for (int location : blankRun) {
+            if (!plan.skips(this, location)) {
+                consumer.accept(parser.createEntity(this, plan, location, context, errorHandler));
+            }
+            if (!isBuffered(location)) {
+                rows.remove(location);
+            }
+        }
+        blankRun.clear();
+        current = row;
+    }
+
+    private void endData() {
+        ended = true;
+        for (int location : blankRun) {
+            if (!isBuffered(location)) {
+                rows.remove(location);
+            }
+        }
+        blankRun.clear();
+    }
+
+    private void collectBufferedRanges(MappingPlan<?> mappingPlan, boolean includeSelf, Set<Class<?>> visited) {
+        ExcelObject excelObject = mappingPlan.getExcelObject();
+        if (excelObject == null || !visited.add(mappingPlan.getType())) {
+            return;
+        }
+        if (mappingPlan.isHeaderMapped()) {
+            if (excelObject.parseType() == ParseType.ROW) {
+                addBufferedRange(mappingPlan.getHeaderIndex(), mappingPlan.getHeaderIndex());
+            } else {
+                addBufferedRange(1, Integer.MAX_VALUE);
+            }
+        }
+        if (includeSelf) {
+            if (excelObject.parseType() == ParseType.ROW) {
+                addBufferedRange(excelObject.start(), excelObject.end() > 0 ? excelObject.end() : Integer.MAX_VALUE);
+            } else if (!mappingPlan.getFields().isEmpty()) {
+                List<FieldMapping> fields = mappingPlan.getFields();
+                addBufferedRange(fields.get(0).getPosition(), fields.get(fields.size() - 1).getPosition());
+            }
+        }
+        for (ChildMapping child : mappingPlan.getChildren()) {
+            collectBufferedRanges(parser.getMappingPlan(child.getType(), errorHandler), true, visited);
+        }
+    }
+
+    private void addBufferedRange(int from, int to) {
+        bufferedRanges.add(new int[]{from, to});
+        lastBufferedRow = Math.max(lastBufferedRow, to);
+    }
+
+    private boolean isBuffered(int rowNum) {
+        for (int[] range : bufferedRanges) {
+            if (rowNum >= range[0] && rowNum <= range[1]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String getSheetName() {
+        return sheetName;
+    }
+
+    @Override
+    public ExcelCell getCell(int row, int col) {
+        ExcelRow streamingRow = current != null && current.getRowNum() == row ? current : rows.get(row);
+        return streamingRow == null ? null : streamingRow.getCell(col);
+    }
+
+    @Override
+    public int getLastRowNum() {
+        return lastRowNum;
+    }
+
+    @Override
+    public int getLastCellNum(int row) {
+        ExcelRow streamingRow = rows.get(row);
+        return streamingRow == null ? 0 : streamingRow.getLastCellNum();
+    }
+}
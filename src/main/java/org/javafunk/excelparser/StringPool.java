@@ -0,0 +1,45 @@
+package org.javafunk.excelparser;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded pool of the values of {@code ExcelField(dedupe = true)} fields for one parse
+ * call, so equal cell texts share one {@code String}. The least recently used values are
+ * dropped once {@code maxSize} distinct values are pooled; unlike {@link String#intern()}
+ * nothing outlives the call.
+ */
+class StringPool {
+    static final int DEFAULT_MAX_SIZE = 4096;
+
+    private final Map<String, String> values;
+
+    StringPool() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    StringPool(final int maxSize) {
+        values = new LinkedHashMap<String, String>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * @return the pooled instance equal to {@code value}, or {@code value} itself when none is
+     * pooled yet.
+     */
+    String dedupe(String value) {
+        if (value == null) {
+            return null;
+        }
+        String pooled = values.putIfAbsent(value, value);
+        return pooled == null ? value : pooled;
+    }
+
+    int size() {
+        return values.size();
+    }
+}
@@ -0,0 +1,65 @@
+package org.javafunk.excelparser;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.javafunk.excelparser.exception.ExcelInvalidCell;
+
+/**
+ * Results of a {@link WorkbookParser} run, one {@link SheetResult} per workbook and
+ * binding, in the order the workbooks and bindings were given.
+ */
+public class WorkbookParseResult {
+    private final List<SheetResult<?>> sheetResults;
+
+    WorkbookParseResult(List<SheetResult<?>> sheetResults) {
+        this.sheetResults = Collections.unmodifiableList(sheetResults);
+    }
+
+    public List<SheetResult<?>> getSheetResults() {
+        return sheetResults;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> SheetResult<T> getSheetResult(File file, SheetBinding<T> binding) {
+        for (SheetResult<?> result : sheetResults) {
+            if (result.getFile().equals(file) && result.getBinding().equals(binding)) {
+                return (SheetResult<T>) result;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the entities of every sheet bound to {@code type}, across all workbooks.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> List<T> getEntities(Class<T> type) {
+        List<T> entities = new ArrayList<>();
+        for (SheetResult<?> result : sheetResults) {
+            if (result.getBinding().getType().equals(type)) {
+                entities.addAll((List<T>) result.getEntities());
+            }
+        }
+        return entities;
+    }
+
+    public List<ExcelInvalidCell> getInvalidCells() {
+        List<ExcelInvalidCell> invalidCells = new ArrayList<>();
+        for (SheetResult<?> result : sheetResults) {
+            invalidCells.addAll(result.getInvalidCells());
+        }
+        return invalidCells;
+    }
+
+    public boolean hasErrors() {
+        for (SheetResult<?> result : sheetResults) {
+            if (result.hasErrors()) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
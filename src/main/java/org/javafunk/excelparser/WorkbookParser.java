@@ -0,0 +1,135 @@
+package org.javafunk.excelparser;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.javafunk.excelparser.exception.ExcelInvalidCellValuesException;
+import org.javafunk.excelparser.exception.ExcelParsingException;
+import org.javafunk.excelparser.mapping.MappingPlanCache;
+import org.javafunk.excelparser.metrics.ParseMetrics;
+
+/**
+ * Parses many workbooks concurrently. Each workbook is loaded and parsed by one task on
+ * the given {@link Executor}; its sheets are parsed one after the other inside that task
+ * because POI workbooks are not safe for concurrent use. Any executor works, e.g. a fixed
+ * pool sized to the number of cores or, on Java 21,
+ * {@code Executors.newVirtualThreadPerTaskExecutor()}.
+ * <p>
+ * All sheets are parsed by one shared {@link SheetParser}, with the mapping plans of one
+ * {@link MappingPlanCache} and metrics reported to one thread-safe {@link ParseMetrics};
+ * invalid cells and errors are collected per sheet, and a sheet that fails, for whatever
+ * reason, fails on its own.
+ */
+public class WorkbookParser {
+    private final Executor executor;
+    private final ParseMetrics metrics;
+    private final SheetParser sheetParser;
+
+    public WorkbookParser(Executor executor) {
+        this(executor, new MappingPlanCache());
+    }
+
+    public WorkbookParser(Executor executor, MappingPlanCache mappingPlans) {
+        this(executor, mappingPlans, ParseMetrics.NONE);
+    }
+
+    public WorkbookParser(Executor executor, MappingPlanCache mappingPlans, ParseMetrics metrics) {
+        this(executor, mappingPlans, metrics, ErrorPolicy.UNLIMITED);
+    }
+
+    /**
+     * @param errorPolicy applied to each sheet on its own; a sheet aborted by it has the
+     * abort as its last error.
+     */
+    public WorkbookParser(Executor executor, MappingPlanCache mappingPlans, ParseMetrics metrics, ErrorPolicy errorPolicy) {
+        this.executor = executor;
+        this.metrics = metrics;
+        this.sheetParser = new SheetParser(mappingPlans, metrics, errorPolicy);
+    }
+
+    /**
+     * Parses the same bindings from every file.
+     */
+    public WorkbookParseResult parse(Collection<File> files, Collection<? extends SheetBinding<?>> bindings) {
+        Map<File, Collection<? extends SheetBinding<?>>> workbooks = new LinkedHashMap<>();
+        for (File file : files) {
+            workbooks.put(file, bindings);
+        }
+        return parse(workbooks);
+    }
+
+    public WorkbookParseResult parse(Map<File, ? extends Collection<? extends SheetBinding<?>>> workbooks) {
+        List<CompletableFuture<List<SheetResult<?>>>> futures = new ArrayList<>();
+        for (Map.Entry<File, ? extends Collection<? extends SheetBinding<?>>> workbook : workbooks.entrySet()) {
+            futures.add(CompletableFuture.supplyAsync(() -> parseWorkbook(workbook.getKey(), workbook.getValue()), executor));
+        }
+
+        List<SheetResult<?>> results = new ArrayList<>();
+        for (CompletableFuture<List<SheetResult<?>>> future : futures) {
+            results.addAll(future.join());
+        }
+        return new WorkbookParseResult(results);
+    }
+
+    private List<SheetResult<?>> parseWorkbook(File file, Collection<? extends SheetBinding<?>> bindings) {
+        List<SheetResult<?>> results = new ArrayList<>();
+        Workbook workbook;
+        try (InputStream inputStream = new FileInputStream(file)) {
+            workbook = WorkbookFactory.create(inputStream);
+        } catch (IOException | InvalidFormatException | RuntimeException e) {
+            ExcelParsingException error = new ExcelParsingException("Exception occurred while loading workbook " + file.getName(), e);
+            for (SheetBinding<?> binding : bindings) {
+                results.add(failed(file, binding, error));
+            }
+            return results;
+        }
+        metrics.bytesRead(file.length());
+
+        for (SheetBinding<?> binding : bindings) {
+            results.add(parseSheet(file, workbook, binding));
+        }
+        return results;
+    }
+
+    private <T> SheetResult<T> parseSheet(File file, Workbook workbook, SheetBinding<T> binding) {
+        Sheet sheet = workbook.getSheet(binding.getSheetName());
+        if (sheet == null) {
+            return failed(file, binding, new ExcelParsingException("Sheet " + binding.getSheetName() + " not found in " + file.getName()));
+        }
+
+        List<ExcelParsingException> errors = new ArrayList<>();
+        try {
+            ParseResult<T> result = sheetParser.parse(sheet, binding.getType(), errors::add);
+            return new SheetResult<>(file, binding, result.getEntities(), result.getInvalidCells(), errors);
+        } catch (ExcelInvalidCellValuesException e) {
+            errors.add(e);
+            return new SheetResult<>(file, binding, Collections.<T>emptyList(), e.getInvalidCells(), errors);
+        } catch (ExcelParsingException e) {
+            errors.add(e);
+            return new SheetResult<>(file, binding, Collections.<T>emptyList(), Collections.emptyList(), errors);
+        } catch (RuntimeException e) {
+            errors.add(new ExcelParsingException("Exception occurred while parsing sheet " + binding.getSheetName()
+                + " of " + file.getName(), e));
+            return new SheetResult<>(file, binding, Collections.<T>emptyList(), Collections.emptyList(), errors);
+        }
+    }
+
+    private static <T> SheetResult<T> failed(File file, SheetBinding<T> binding, ExcelParsingException error) {
+        return new SheetResult<>(file, binding, Collections.<T>emptyList(), Collections.emptyList(),
+            Collections.singletonList(error));
+    }
+}
@@ -0,0 +1,66 @@
+package org.javafunk.excelparser;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.javafunk.excelparser.exception.ExcelParsingException;
+import org.javafunk.excelparser.streaming.XlsSheetReader;
+
+/**
+ * Streaming counterpart of {@link SheetParser} for legacy .xls (BIFF8) files. The sheet is
+ * read with POI's record based event API instead of a fully loaded {@code HSSFWorkbook},
+ * and entities are handed to the consumer row by row using the same {@code ExcelObject} /
+ * {@code ExcelField} / {@code MappedExcelObject} mapping.
+ * <p>
+ * Formulas are not evaluated, the value cached in the file is used.
+ */
+public class XlsStreamingParser {
+    private final SheetParser sheetParser;
+    private final XlsSheetReader reader;
+
+    public XlsStreamingParser() {
+        this(new SheetParser());
+    }
+
+    public XlsStreamingParser(SheetParser sheetParser) {
+        this.sheetParser = sheetParser;
+        this.reader = new XlsSheetReader();
+    }
+
+    public <T> void parse(File file, String sheetName, Class<T> clazz, Consumer<? super T> consumer,
+                          Consumer<ExcelParsingException> errorHandler) {
+        sheetParser.parse(reader, file, sheetName, clazz, consumer, errorHandler);
+    }
+
+    /**
+     * The stream is spooled to a temporary file first, so that the workbook can be read
+     * without buffering it on the heap.
+     */
+    public <T> void parse(InputStream inputStream, String sheetName, Class<T> clazz, Consumer<? super T> consumer,
+                          Consumer<ExcelParsingException> errorHandler) {
+        File file = null;
+        try {
+            file = File.createTempFile("excel-parser", ".xls");
+            Files.copy(inputStream, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            parse(file, sheetName, clazz, consumer, errorHandler);
+        } catch (IOException e) {
+            throw new ExcelParsingException("Exception occurred while buffering workbook for sheet " + sheetName, e);
+        } finally {
+            if (file != null) {
+                file.delete();
+            }
+        }
+    }
+
+    public <T> List<T> createEntity(File file, String sheetName, Class<T> clazz, Consumer<ExcelParsingException> errorHandler) {
+        List<T> list = new ArrayList<>();
+        parse(file, sheetName, clazz, list::add, errorHandler);
+        return list;
+    }
+}
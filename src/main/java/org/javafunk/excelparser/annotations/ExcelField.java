@@ -8,7 +8,31 @@ import java.lang.annotation.Target;
 @Retention(value = RetentionPolicy.RUNTIME)
 @Target({ElementType.FIELD})
 public @interface ExcelField {
-    int position();
+    /**
+     * Row (for {@code ParseType.COLUMN}) or column (for {@code ParseType.ROW}) of the
+     * value, starting at 1. Leave it out when the field is bound by {@link #header()}.
+     */
+    int position() default 0;
+
+    /**
+     * Name of the header cell above (or, for {@code ParseType.COLUMN}, before) the values.
+     * The header is read once per parse and resolved to a position, compared as set by
+     * {@link ExcelObject#headerMatch()}.
+     */
+    String header() default "";
+
+    /**
+     * Marks a key field: the data ends before the first row (or column) whose key cell is
+     * blank, which spares reading formatted but empty rows up to the last row of the sheet.
+     */
+    boolean key() default false;
+
+    /**
+     * For {@code String} fields with few distinct values: equal values read in one parse share
+     * one instance, from a bounded pool.
+     */
+    boolean dedupe() default false;
+
     enum ValidationType
     {
         SOFT, HARD
@@ -49,9 +49,42 @@ public @interface ExcelObject {
 
     /**
      * This field should be set to true when you want to ignore the row or
-     * column having just Zero or NULL data.
+     * column having just Zero or NULL data. Such rows are skipped before an
+     * entity is created for them.
      *
      * @return boolean.
      */
     boolean ignoreAllZerosOrNullRows() default false;
+
+    /**
+     * End the block at the first run of this many consecutive blank rows (or
+     * columns for column level parsing); trailing blank rows are dropped. Zero
+     * turns this off.
+     *
+     * @return int.
+     */
+    int endAfterBlanks() default 0;
+
+    /**
+     * End the block before the first row (or column) whose key field, or first
+     * field when there is no {@link ExcelField#key()} field, holds this text.
+     *
+     * @return String.
+     */
+    String endSentinel() default "";
+
+    /**
+     * Row (for Row level parsing) or column (for column level parsing) holding the names of
+     * the {@link ExcelField#header()} bound fields. Defaults to the one just before start.
+     *
+     * @return int.
+     */
+    int headerIndex() default 0;
+
+    /**
+     * How header names are compared with the header cells.
+     *
+     * @return HeaderMatch.
+     */
+    HeaderMatch headerMatch() default HeaderMatch.EXACT;
 }
@@ -0,0 +1,44 @@
+package org.javafunk.excelparser.annotations;
+
+import java.util.Locale;
+
+/**
+ * How {@link ExcelField#header()} names are compared with the header cells of a sheet.
+ */
+public enum HeaderMatch {
+    /**
+     * Same text, ignoring leading and trailing whitespace.
+     */
+    EXACT,
+    /**
+     * Same text, ignoring case and leading and trailing whitespace.
+     */
+    IGNORE_CASE,
+    /**
+     * Same letters and digits, ignoring case, whitespace and punctuation, so
+     * "Date of Birth", "date_of_birth" and "DateOfBirth" all match.
+     */
+    FUZZY;
+
+    /**
+     * @return the key under which {@code header} is matched.
+     */
+    public String normalize(String header) {
+        String trimmed = header.trim();
+        switch (this) {
+            case IGNORE_CASE:
+                return trimmed.toLowerCase(Locale.ROOT);
+            case FUZZY:
+                StringBuilder key = new StringBuilder(trimmed.length());
+                for (int i = 0; i < trimmed.length(); i++) {
+                    char c = trimmed.charAt(i);
+                    if (Character.isLetterOrDigit(c)) {
+                        key.append(Character.toLowerCase(c));
+                    }
+                }
+                return key.toString();
+            default:
+                return trimmed;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package org.javafunk.excelparser.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Validates the text of an {@link ExcelField} cell against a length range, inclusive.
+ * Failures are handled according to {@link ExcelField#validationType()}.
+ */
+@Retention(value = RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD})
+public @interface Length {
+    int min() default 0;
+    int max() default Integer.MAX_VALUE;
+}
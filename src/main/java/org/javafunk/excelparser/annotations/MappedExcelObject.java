@@ -5,8 +5,13 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
+/**
+ * Marks a field holding a nested {@code ExcelObject} block, either a {@code List} of it or a
+ * single entity. The block is parsed once per parse call and the same entities are given to
+ * every parent; set {@code copy} to give each parent its own copies instead.
+ */
 @Retention(value = RetentionPolicy.RUNTIME)
 @Target({ElementType.FIELD})
 public @interface MappedExcelObject {
-
+    boolean copy() default false;
 }
@@ -0,0 +1,15 @@
+package org.javafunk.excelparser.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Validates that an {@link ExcelField} cell is present and not just whitespace.
+ */
+@Retention(value = RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD})
+public @interface NotBlank {
+
+}
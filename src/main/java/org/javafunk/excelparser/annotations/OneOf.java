@@ -0,0 +1,16 @@
+package org.javafunk.excelparser.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Validates that the text of an {@link ExcelField} cell is one of the given values.
+ */
+@Retention(value = RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD})
+public @interface OneOf {
+    String[] value();
+    boolean ignoreCase() default false;
+}
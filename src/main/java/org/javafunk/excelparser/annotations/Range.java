@@ -0,0 +1,17 @@
+package org.javafunk.excelparser.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Validates a numeric {@link ExcelField} against a range, inclusive. Empty cells pass; combine
+ * with {@link NotBlank} to require a value.
+ */
+@Retention(value = RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD})
+public @interface Range {
+    double min() default -Double.MAX_VALUE;
+    double max() default Double.MAX_VALUE;
+}
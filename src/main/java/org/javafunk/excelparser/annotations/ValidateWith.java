@@ -0,0 +1,19 @@
+package org.javafunk.excelparser.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.javafunk.excelparser.validation.CellValidator;
+
+/**
+ * Validates an {@link ExcelField} with custom {@link CellValidator}s. Instances come from the
+ * {@code ValidatorRegistry} of the parser, which creates them with their no-arg constructor
+ * unless one was registered.
+ */
+@Retention(value = RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD})
+public @interface ValidateWith {
+    Class<? extends CellValidator>[] value();
+}
@@ -0,0 +1,53 @@
+package org.javafunk.excelparser.columnar;
+
+import java.util.BitSet;
+
+import org.javafunk.excelparser.annotations.ExcelField;
+
+/**
+ * One {@link ExcelField} of a {@link ColumnarResult}: a fixed number of values, one per
+ * parsed entity, with a bitmap marking the missing ones.
+ */
+public abstract class Column {
+    private final String name;
+    private final int position;
+    private final int size;
+    private final BitSet nulls;
+
+    Column(String name, int position, int size) {
+        this.name = name;
+        this.position = position;
+        this.size = size;
+        this.nulls = new BitSet(size);
+    }
+
+    /**
+     * @return the name of the annotated field.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the {@link ExcelField#position()}, or the position of the {@link ExcelField#header()}, the values were read from.
+     */
+    public int getPosition() {
+        return position;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isNull(int index) {
+        return nulls.get(index);
+    }
+
+    public int getNullCount() {
+        return nulls.cardinality();
+    }
+
+    void setNull(int index) {
+        nulls.set(index);
+    }
+}
@@ -0,0 +1,218 @@
+package org.javafunk.excelparser.columnar;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.javafunk.excelparser.SheetParser;
+import org.javafunk.excelparser.annotations.ExcelObject;
+import org.javafunk.excelparser.annotations.ParseType;
+import org.javafunk.excelparser.exception.ExcelCellException;
+import org.javafunk.excelparser.exception.ExcelParsingException;
+import org.javafunk.excelparser.helper.CellConverters;
+import org.javafunk.excelparser.helper.HSSFHelper;
+import org.javafunk.excelparser.helper.SheetCellSource;
+import org.javafunk.excelparser.mapping.FieldMapping;
+import org.javafunk.excelparser.mapping.MappingPlan;
+import org.javafunk.excelparser.mapping.MappingPlanCache;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+
+import static java.text.MessageFormat.format;
+
+/**
+ * Parses the {@code ExcelField}s of an {@code ExcelObject} class into a {@link ColumnarResult}
+ * instead of entities. Numbers are read straight into primitive arrays, so no value is boxed
+ * and no entity is created:
+ * <ul>
+ * <li>{@code Double} fields become a {@link DoubleColumn}, {@code Long} fields a
+ * {@link LongColumn} and {@code Integer} fields an {@link IntColumn}</li>
+ * <li>{@code BigDecimal} fields become a {@link DecimalColumn} of unscaled values and scales,
+ * converted like {@link SheetParser} does so that no precision is lost</li>
+ * <li>{@code Date} and {@code LocalDateTime} fields become a {@link LongColumn} of the cell's
+ * date and time as epoch milliseconds at UTC, {@code LocalDate} fields the same truncated to
+ * midnight, in the 1900 or 1904 date system of the workbook</li>
+ * <li>{@code String} fields become a dictionary encoded {@link StringColumn}</li>
+ * </ul>
+ * Errors are reported with the same messages as {@link SheetParser}. {@code MappedExcelObject}
+ * children, {@code ExcelField} validation and {@code ignoreAllZerosOrNullRows} are not applied.
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ColumnarParser {
+    private static final int BLANK = 0;
+    private static final int NUMBER = 1;
+    private static final int INVALID = 2;
+
+    MappingPlanCache mappingPlans;
+
+    public ColumnarParser() {
+        this(new MappingPlanCache());
+    }
+
+    public ColumnarParser(MappingPlanCache mappingPlans) {
+        this.mappingPlans = mappingPlans;
+    }
+
+    public ColumnarResult parse(Sheet sheet, Class<?> clazz, Consumer<ExcelParsingException> errorHandler) {
+        MappingPlan<?> plan = mappingPlans.get(clazz);
+        ExcelObject excelObject = plan.getExcelObject();
+        if (excelObject == null) {
+            errorHandler.accept(new ExcelParsingException("Invalid class configuration - ExcelObject annotation missing - " + clazz.getSimpleName()));
+            return new ColumnarResult(clazz, 0, new ArrayList<>(), new LinkedHashMap<>());
+        }
+        SheetCellSource cells = new SheetCellSource(sheet);
+        plan = plan.bind(cells, errorHandler);
+
+        int start = excelObject.start();
+        int end = 0;
+        if (start > 0 && excelObject.end() >= 0) {
+            end = excelObject.end() > 0 ? excelObject.end() : plan.getRowOrColumnEnd(cells);
+            end = plan.detectsEnd() ? plan.findEnd(cells, end) : end;
+        }
+        int size = Math.max(end - start + 1, 0);
+
+        List<FieldMapping> fields = new ArrayList<>();
+        List<Column> columns = new ArrayList<>();
+        for (FieldMapping field : plan.getFields()) {
+            Column column = newColumn(field, size, errorHandler);
+            if (column != null) {
+                fields.add(field);
+                columns.add(column);
+            }
+        }
+
+        boolean rowParse = excelObject.parseType() == ParseType.ROW;
+        boolean zeroIfNull = excelObject.zeroIfNull();
+        boolean date1904 = cells.isDate1904();
+        for (int index = 0; index < size; index++) {
+            int location = start + index;
+            Row locationRow = rowParse ? sheet.getRow(location - 1) : null;
+            for (int i = 0; i < fields.size(); i++) {
+                FieldMapping field = fields.get(i);
+                int row = rowParse ? location : field.getPosition();
+                int col = rowParse ? field.getPosition() : location;
+                Row cellRow = rowParse ? locationRow : sheet.getRow(row - 1);
+                Cell cell = cellRow == null ? null : cellRow.getCell(col - 1);
+                Column column = columns.get(i);
+                if (column instanceof StringColumn) {
+                    ((StringColumn) column).set(index,
+                        CellConverters.STRING.convert(cells.getCell(row, col), sheet.getSheetName(), row, col, zeroIfNull, errorHandler));
+                } else if (column instanceof DecimalColumn) {
+                    ((DecimalColumn) column).set(index,
+                        CellConverters.BIG_DECIMAL.convert(cells.getCell(row, col), sheet.getSheetName(), row, col, zeroIfNull, errorHandler));
+                } else {
+                    readNumber(column, field.getType(), index, cell, sheet.getSheetName(), row, col, zeroIfNull, date1904, errorHandler);
+                }
+            }
+        }
+
+        Map<String, Column> columnsByName = new LinkedHashMap<>();
+        for (Column column : columns) {
+            columnsByName.put(column.getName(), column);
+        }
+        return new ColumnarResult(clazz, size, columns, columnsByName);
+    }
+
+    private Column newColumn(FieldMapping field, int size, Consumer<ExcelParsingException> errorHandler) {
+        String name = field.getField().getName();
+        Class<?> type = field.getType();
+        if (type == Double.class) {
+            return new DoubleColumn(name, field.getPosition(), size);
+        }
+        if (type == BigDecimal.class) {
+            return new DecimalColumn(name, field.getPosition(), size);
+        }
+        if (type == Long.class || type == Date.class || type == LocalDateTime.class || type == LocalDate.class) {
+            return new LongColumn(name, field.getPosition(), size);
+        }
+        if (type == Integer.class) {
+            return new IntColumn(name, field.getPosition(), size);
+        }
+        if (type == String.class) {
+            return new StringColumn(name, field.getPosition(), size);
+        }
+        errorHandler.accept(new ExcelParsingException(format("{0} data type not supported for columnar parsing", type.getName())));
+        return null;
+    }
+
+    private void readNumber(Column column, Class<?> type, int index, Cell cell, String sheetName, int row, int col,
+                            boolean zeroIfNull, boolean date1904, Consumer<ExcelParsingException> errorHandler) {
+        boolean date = type == Date.class || type == LocalDateTime.class || type == LocalDate.class;
+        int kind = numberKind(cell);
+        if (kind == BLANK && zeroIfNull && !date) {
+            setNumber(column, index, 0d);
+            return;
+        }
+        if (kind != NUMBER) {
+            if (kind == INVALID) {
+                errorHandler.accept(invalid(date ? "date" : "number", sheetName, row, col));
+            }
+            column.setNull(index);
+            return;
+        }
+
+        double value = cell.getNumericCellValue();
+        if (!date) {
+            if (!(column instanceof DoubleColumn) && value % 1 != 0) {
+                errorHandler.accept(invalid("number", sheetName, row, col));
+            }
+            setNumber(column, index, value);
+            return;
+        }
+
+        if (!DateUtil.isValidExcelDate(value)) {
+            errorHandler.accept(invalid("date", sheetName, row, col));
+            column.setNull(index);
+            return;
+        }
+        if (!DateUtil.isCellDateFormatted(cell)) {
+            errorHandler.accept(invalid("date", sheetName, row, col));
+        }
+        LocalDateTime dateTime = type == LocalDate.class
+            ? HSSFHelper.toLocalDate(value, date1904).atStartOfDay()
+            : HSSFHelper.toLocalDateTime(value, date1904);
+        ((LongColumn) column).set(index, dateTime.toInstant(ZoneOffset.UTC).toEpochMilli());
+    }
+
+    private static int numberKind(Cell cell) {
+        if (cell == null) {
+            return BLANK;
+        }
+        switch (cell.getCellType()) {
+            case Cell.CELL_TYPE_NUMERIC:
+                return NUMBER;
+            case Cell.CELL_TYPE_FORMULA:
+                return cell.getCachedFormulaResultType() == Cell.CELL_TYPE_NUMERIC ? NUMBER : INVALID;
+            case Cell.CELL_TYPE_BLANK:
+                return BLANK;
+            default:
+                return INVALID;
+        }
+    }
+
+    private static void setNumber(Column column, int index, double value) {
+        if (column instanceof DoubleColumn) {
+            ((DoubleColumn) column).set(index, value);
+        } else if (column instanceof LongColumn) {
+            ((LongColumn) column).set(index, (long) value);
+        } else {
+            ((IntColumn) column).set(index, (int) value);
+        }
+    }
+
+    private static ExcelParsingException invalid(String what, String sheetName, int row, int col) {
+        return new ExcelCellException(what, sheetName, row, col);
+    }
+}
@@ -0,0 +1,79 @@
+package org.javafunk.excelparser.columnar;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Entities of one sheet stored column by column, in {@code ExcelField} position order.
+ * Index {@code i} of every column belongs to the {@code i}th entity.
+ */
+public class ColumnarResult {
+    private final Class<?> type;
+    private final int size;
+    private final List<Column> columns;
+    private final Map<String, Column> columnsByName;
+
+    ColumnarResult(Class<?> type, int size, List<Column> columns, Map<String, Column> columnsByName) {
+        this.type = type;
+        this.size = size;
+        this.columns = Collections.unmodifiableList(columns);
+        this.columnsByName = columnsByName;
+    }
+
+    /**
+     * @return the {@code ExcelObject} class the columns were mapped from.
+     */
+    public Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * @return the number of entities, i.e. the size of every column.
+     */
+    public int size() {
+        return size;
+    }
+
+    public List<Column> getColumns() {
+        return columns;
+    }
+
+    /**
+     * @return the column of the field called {@code name}, or {@code null}.
+     */
+    public Column getColumn(String name) {
+        return columnsByName.get(name);
+    }
+
+    public DoubleColumn getDoubleColumn(String name) {
+        return getColumn(name, DoubleColumn.class);
+    }
+
+    public DecimalColumn getDecimalColumn(String name) {
+        return getColumn(name, DecimalColumn.class);
+    }
+
+    public LongColumn getLongColumn(String name) {
+        return getColumn(name, LongColumn.class);
+    }
+
+    public IntColumn getIntColumn(String name) {
+        return getColumn(name, IntColumn.class);
+    }
+
+    public StringColumn getStringColumn(String name) {
+        return getColumn(name, StringColumn.class);
+    }
+
+    private <C extends Column> C getColumn(String name, Class<C> columnType) {
+        Column column = columnsByName.get(name);
+        if (column == null) {
+            throw new IllegalArgumentException("No column for field " + name + " in " + type.getSimpleName());
+        }
+        if (!columnType.isInstance(column)) {
+            throw new IllegalArgumentException("Field " + name + " is a " + column.getClass().getSimpleName() + ", not a " + columnType.getSimpleName());
+        }
+        return columnType.cast(column);
+    }
+}
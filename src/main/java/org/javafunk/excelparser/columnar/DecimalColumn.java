@@ -0,0 +1,64 @@
+package org.javafunk.excelparser.columnar;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Column of {@code BigDecimal} fields, kept exactly as an unscaled {@code long} and a scale
+ * per value, so {@link #get} returns the value {@code SheetParser} would set. The few values
+ * whose unscaled value does not fit in a {@code long} are kept as they are; their slots in
+ * the backing arrays hold {@code 0}. Missing values read as {@code null}.
+ */
+public class DecimalColumn extends Column {
+    private final long[] unscaledValues;
+    private final int[] scales;
+    private final Map<Integer, BigDecimal> large = new HashMap<>();
+
+    DecimalColumn(String name, int position, int size) {
+        super(name, position, size);
+        this.unscaledValues = new long[size];
+        this.scales = new int[size];
+    }
+
+    public BigDecimal get(int index) {
+        if (isNull(index)) {
+            return null;
+        }
+        BigDecimal value = large.get(index);
+        return value != null ? value : BigDecimal.valueOf(unscaledValues[index], scales[index]);
+    }
+
+    /**
+     * @return whether the value at {@code index} is in the backing arrays, i.e. present and
+     * with an unscaled value that fits in a {@code long}.
+     */
+    public boolean isCompact(int index) {
+        return !isNull(index) && !large.containsKey(index);
+    }
+
+    /**
+     * @return the backing array of unscaled values; do not modify it.
+     */
+    public long[] getUnscaledValues() {
+        return unscaledValues;
+    }
+
+    /**
+     * @return the backing array of scales; do not modify it.
+     */
+    public int[] getScales() {
+        return scales;
+    }
+
+    void set(int index, BigDecimal value) {
+        if (value == null) {
+            setNull(index);
+        } else if (value.unscaledValue().bitLength() < Long.SIZE) {
+            unscaledValues[index] = value.unscaledValue().longValue();
+            scales[index] = value.scale();
+        } else {
+            large.put(index, value);
+        }
+    }
+}
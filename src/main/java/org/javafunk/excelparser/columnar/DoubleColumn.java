@@ -0,0 +1,28 @@
+package org.javafunk.excelparser.columnar;
+
+/**
+ * Column of {@code Double} fields. Missing values read as {@code 0}.
+ */
+public class DoubleColumn extends Column {
+    private final double[] values;
+
+    DoubleColumn(String name, int position, int size) {
+        super(name, position, size);
+        this.values = new double[size];
+    }
+
+    public double get(int index) {
+        return values[index];
+    }
+
+    /**
+     * @return the backing array; do not modify it.
+     */
+    public double[] getValues() {
+        return values;
+    }
+
+    void set(int index, double value) {
+        values[index] = value;
+    }
+}
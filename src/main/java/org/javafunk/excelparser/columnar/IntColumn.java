@@ -0,0 +1,28 @@
+package org.javafunk.excelparser.columnar;
+
+/**
+ * Column of {@code Integer} fields. Missing values read as {@code 0}.
+ */
+public class IntColumn extends Column {
+    private final int[] values;
+
+    IntColumn(String name, int position, int size) {
+        super(name, position, size);
+        this.values = new int[size];
+    }
+
+    public int get(int index) {
+        return values[index];
+    }
+
+    /**
+     * @return the backing array; do not modify it.
+     */
+    public int[] getValues() {
+        return values;
+    }
+
+    void set(int index, int value) {
+        values[index] = value;
+    }
+}
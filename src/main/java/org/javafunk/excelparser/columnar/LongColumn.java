@@ -0,0 +1,29 @@
+package org.javafunk.excelparser.columnar;
+
+/**
+ * Column of {@code Long} fields, and of date fields as epoch milliseconds (see
+ * {@link ColumnarParser}). Missing values read as {@code 0}.
+ */
+public class LongColumn extends Column {
+    private final long[] values;
+
+    LongColumn(String name, int position, int size) {
+        super(name, position, size);
+        this.values = new long[size];
+    }
+
+    public long get(int index) {
+        return values[index];
+    }
+
+    /**
+     * @return the backing array; do not modify it.
+     */
+    public long[] getValues() {
+        return values;
+    }
+
+    void set(int index, long value) {
+        values[index] = value;
+    }
+}
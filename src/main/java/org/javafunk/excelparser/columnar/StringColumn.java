@@ -0,0 +1,57 @@
+package org.javafunk.excelparser.columnar;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dictionary encoded column of {@code String} fields: each distinct value is kept once and
+ * every entity holds an index into the dictionary, {@code -1} when the value is missing.
+ */
+public class StringColumn extends Column {
+    private final int[] codes;
+    private final List<String> dictionary = new ArrayList<>();
+    private final Map<String, Integer> index = new HashMap<>();
+
+    StringColumn(String name, int position, int size) {
+        super(name, position, size);
+        this.codes = new int[size];
+    }
+
+    public String get(int index) {
+        int code = codes[index];
+        return code < 0 ? null : dictionary.get(code);
+    }
+
+    public int getCode(int index) {
+        return codes[index];
+    }
+
+    /**
+     * @return the backing array of dictionary indexes; do not modify it.
+     */
+    public int[] getCodes() {
+        return codes;
+    }
+
+    public List<String> getDictionary() {
+        return Collections.unmodifiableList(dictionary);
+    }
+
+    void set(int position, String value) {
+        if (value == null) {
+            codes[position] = -1;
+            setNull(position);
+            return;
+        }
+        Integer code = index.get(value);
+        if (code == null) {
+            code = dictionary.size();
+            dictionary.add(value);
+            index.put(value, code);
+        }
+        codes[position] = code;
+    }
+}
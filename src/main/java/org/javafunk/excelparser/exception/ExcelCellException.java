@@ -0,0 +1,44 @@
+package org.javafunk.excelparser.exception;
+
+import static java.text.MessageFormat.format;
+
+/**
+ * A cell whose value cannot be converted. The message is formatted on first use and no
+ * stack trace is captured, so errors that an {@code ErrorPolicy} only counts cost next to
+ * nothing; the location is available from the getters.
+ */
+public class ExcelCellException extends ExcelParsingException {
+    private final String what;
+    private final String sheetName;
+    private final int row;
+    private final int column;
+    private String message;
+
+    public ExcelCellException(String what, String sheetName, int row, int column) {
+        super(null, null, false);
+        this.what = what;
+        this.sheetName = sheetName;
+        this.row = row;
+        this.column = column;
+    }
+
+    @Override
+    public String getMessage() {
+        if (message == null) {
+            message = format("Invalid {0} found in sheet {1} at row {2}, column {3}", what, sheetName, row, column);
+        }
+        return message;
+    }
+
+    public String getSheetName() {
+        return sheetName;
+    }
+
+    public int getRow() {
+        return row;
+    }
+
+    public int getColumn() {
+        return column;
+    }
+}
@@ -10,4 +10,8 @@ public class ExcelParsingException extends RuntimeException {
         super(message, exception);
     }
 
+    protected ExcelParsingException(String message, Exception exception, boolean writableStackTrace) {
+        super(message, exception, true, writableStackTrace);
+    }
+
 }
@@ -0,0 +1,21 @@
+package org.javafunk.excelparser.helper;
+
+import java.util.function.Consumer;
+
+import org.javafunk.excelparser.exception.ExcelParsingException;
+
+/**
+ * Converts a cell to the type of an {@code ExcelField}. Converters are resolved once per
+ * field when its mapping is built, see {@link CellConverters}.
+ */
+@FunctionalInterface
+public interface CellConverter<T> {
+
+    /**
+     * @param cell       the cell, {@code null} when the sheet has none at this position
+     * @param row        1-based row, only to be used in error messages
+     * @param col        1-based column, only to be used in error messages
+     * @param zeroIfNull {@code ExcelObject.zeroIfNull()} of the entity being created
+     */
+    T convert(ExcelCell cell, String sheetName, int row, int col, boolean zeroIfNull, Consumer<ExcelParsingException> errorHandler);
+}
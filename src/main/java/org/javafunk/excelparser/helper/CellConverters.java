@@ -0,0 +1,226 @@
+package org.javafunk.excelparser.helper;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import org.apache.poi.hssf.usermodel.HSSFCell;
+import org.javafunk.excelparser.exception.ExcelParsingException;
+
+import static java.text.MessageFormat.format;
+
+/**
+ * Registry of {@link CellConverter}s by field type. It starts with converters for
+ * {@code String}, {@code Date}, {@code LocalDate}, {@code LocalDateTime}, {@code Integer},
+ * {@code Double}, {@code Long}, {@code BigDecimal}, {@code Boolean} and {@code UUID}, and
+ * creates one for any enum on first use. Register converters for other types, e.g.
+ * {@link #instant(ZoneId)} and {@link #offsetDateTime(ZoneId)}, before the mapping plans
+ * that use them are compiled.
+ */
+public class CellConverters {
+    public static final CellConverter<String> STRING = (cell, sheetName, row, col, zeroIfNull, errorHandler) ->
+        HSSFHelper.getStringCell(cell, errorHandler);
+
+    public static final CellConverter<Date> DATE = (cell, sheetName, row, col, zeroIfNull, errorHandler) ->
+        cell == null ? null : HSSFHelper.getDateCell(cell, sheetName, row, col, errorHandler);
+
+    public static final CellConverter<LocalDate> LOCAL_DATE = (cell, sheetName, row, col, zeroIfNull, errorHandler) ->
+        cell == null ? null : HSSFHelper.getLocalDateCell(cell, sheetName, row, col, errorHandler);
+
+    public static final CellConverter<LocalDateTime> LOCAL_DATE_TIME = (cell, sheetName, row, col, zeroIfNull, errorHandler) ->
+        cell == null ? null : HSSFHelper.getLocalDateTimeCell(cell, sheetName, row, col, errorHandler);
+
+    public static final CellConverter<Integer> INTEGER = (cell, sheetName, row, col, zeroIfNull, errorHandler) ->
+        HSSFHelper.getIntegerCell(cell, zeroIfNull, sheetName, row, col, errorHandler);
+
+    public static final CellConverter<Double> DOUBLE = (cell, sheetName, row, col, zeroIfNull, errorHandler) ->
+        HSSFHelper.getDoubleCell(cell, zeroIfNull, sheetName, row, col, errorHandler);
+
+    public static final CellConverter<Long> LONG = (cell, sheetName, row, col, zeroIfNull, errorHandler) ->
+        HSSFHelper.getLongCell(cell, zeroIfNull, sheetName, row, col, errorHandler);
+
+    /**
+     * Primitive {@code int} fields, which cannot be null: blank and invalid cells read as 0.
+     */
+    public static final CellConverter<Integer> INT = (cell, sheetName, row, col, zeroIfNull, errorHandler) ->
+        toInt(cell, sheetName, row, col, errorHandler);
+
+    public static final CellConverter<Long> PRIMITIVE_LONG = (cell, sheetName, row, col, zeroIfNull, errorHandler) ->
+        toLong(cell, sheetName, row, col, errorHandler);
+
+    public static final CellConverter<Double> PRIMITIVE_DOUBLE = (cell, sheetName, row, col, zeroIfNull, errorHandler) ->
+        toDouble(cell, sheetName, row, col, errorHandler);
+
+    public static final CellConverter<BigDecimal> BIG_DECIMAL = (cell, sheetName, row, col, zeroIfNull, errorHandler) ->
+        HSSFHelper.getBigDecimalCell(cell, zeroIfNull, sheetName, row, col, errorHandler);
+
+    /**
+     * Boolean cells, and text cells holding {@code true} or {@code false} in any case.
+     */
+    public static final CellConverter<Boolean> BOOLEAN = (cell, sheetName, row, col, zeroIfNull, errorHandler) -> {
+        if (cell == null) {
+            return null;
+        }
+        int type = cell.getCellType() == HSSFCell.CELL_TYPE_FORMULA ? cell.getCachedFormulaResultType() : cell.getCellType();
+        if (type == HSSFCell.CELL_TYPE_BOOLEAN) {
+            return cell.getBooleanCellValue();
+        }
+        String text = HSSFHelper.getStringCell(cell, errorHandler);
+        if (text == null || text.isEmpty()) {
+            return null;
+        }
+        if (text.equalsIgnoreCase("true") || text.equalsIgnoreCase("false")) {
+            return Boolean.valueOf(text);
+        }
+        errorHandler.accept(HSSFHelper.invalid("boolean", sheetName, row, col));
+        return null;
+    };
+
+    public static final CellConverter<UUID> UUID_TEXT = (cell, sheetName, row, col, zeroIfNull, errorHandler) -> {
+        String text = HSSFHelper.getStringCell(cell, errorHandler);
+        if (text == null || text.isEmpty()) {
+            return null;
+        }
+        try {
+            return UUID.fromString(text);
+        } catch (IllegalArgumentException e) {
+            errorHandler.accept(HSSFHelper.invalid("UUID", sheetName, row, col));
+            return null;
+        }
+    };
+
+    private final Map<Class<?>, CellConverter<?>> converters = new ConcurrentHashMap<>();
+
+    public CellConverters() {
+        register(String.class, STRING);
+        register(Date.class, DATE);
+        register(LocalDate.class, LOCAL_DATE);
+        register(LocalDateTime.class, LOCAL_DATE_TIME);
+        register(Integer.class, INTEGER);
+        register(Double.class, DOUBLE);
+        register(Long.class, LONG);
+        register(BigDecimal.class, BIG_DECIMAL);
+        register(Boolean.class, BOOLEAN);
+        register(UUID.class, UUID_TEXT);
+        register(int.class, INT);
+        register(long.class, PRIMITIVE_LONG);
+        register(double.class, PRIMITIVE_DOUBLE);
+    }
+
+    /**
+     * Reads a primitive {@code int} without boxing; blank and invalid cells read as 0.
+     */
+    public static int toInt(ExcelCell cell, String sheetName, int row, int col, Consumer<ExcelParsingException> errorHandler) {
+        return HSSFHelper.getIntValue(cell, sheetName, row, col, errorHandler);
+    }
+
+    public static long toLong(ExcelCell cell, String sheetName, int row, int col, Consumer<ExcelParsingException> errorHandler) {
+        return HSSFHelper.getLongValue(cell, sheetName, row, col, errorHandler);
+    }
+
+    public static double toDouble(ExcelCell cell, String sheetName, int row, int col, Consumer<ExcelParsingException> errorHandler) {
+        return HSSFHelper.getDoubleValue(cell, sheetName, row, col, errorHandler);
+    }
+
+    public <T> CellConverters register(Class<T> type, CellConverter<? extends T> converter) {
+        converters.put(type, converter);
+        return this;
+    }
+
+    /**
+     * @return the converter for {@code type}, or {@code null} if it is not supported.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public <T> CellConverter<T> get(Class<T> type) {
+        CellConverter<?> converter = converters.get(type);
+        if (converter == null && type.isEnum()) {
+            converter = converters.computeIfAbsent(type, enumType -> enumConverter((Class) enumType));
+        }
+        return (CellConverter<T>) converter;
+    }
+
+    /**
+     * Enum constants by name, exact or ignoring case.
+     */
+    public static <E extends Enum<E>> CellConverter<E> enumConverter(Class<E> type) {
+        Map<String, E> constants = new HashMap<>();
+        for (E constant : type.getEnumConstants()) {
+            constants.put(constant.name().toUpperCase(Locale.ROOT), constant);
+        }
+        String what = type.getSimpleName();
+        return (cell, sheetName, row, col, zeroIfNull, errorHandler) -> {
+            String text = HSSFHelper.getStringCell(cell, errorHandler);
+            if (text == null || text.isEmpty()) {
+                return null;
+            }
+            E constant = constants.get(text.toUpperCase(Locale.ROOT));
+            if (constant == null) {
+                errorHandler.accept(HSSFHelper.invalid(what, sheetName, row, col));
+            }
+            return constant;
+        };
+    }
+
+    /**
+     * Date cells, read as local date and time in {@code zone}, and ISO-8601 instants in text
+     * cells.
+     */
+    public static CellConverter<Instant> instant(ZoneId zone) {
+        return (cell, sheetName, row, col, zeroIfNull, errorHandler) -> {
+            OffsetDateTime dateTime = toOffsetDateTime(cell, zone, sheetName, row, col, errorHandler);
+            return dateTime == null ? null : dateTime.toInstant();
+        };
+    }
+
+    /**
+     * Date cells, read as local date and time in {@code zone}, and ISO-8601 date times with
+     * an offset in text cells.
+     */
+    public static CellConverter<OffsetDateTime> offsetDateTime(ZoneId zone) {
+        return (cell, sheetName, row, col, zeroIfNull, errorHandler) -> toOffsetDateTime(cell, zone, sheetName, row, col, errorHandler);
+    }
+
+    /**
+     * The converter reporting {@code type} as unsupported for every cell, as the parser
+     * always has.
+     */
+    public static <T> CellConverter<T> unsupported(Class<T> type) {
+        String message = format("{0} data type not supported for parsing", type.getName());
+        return (cell, sheetName, row, col, zeroIfNull, errorHandler) -> {
+            errorHandler.accept(new ExcelParsingException(message));
+            return null;
+        };
+    }
+
+    private static OffsetDateTime toOffsetDateTime(ExcelCell cell, ZoneId zone, String sheetName, int row, int col,
+                                                   Consumer<ExcelParsingException> errorHandler) {
+        if (cell == null) {
+            return null;
+        }
+        if (cell.getCellType() == HSSFCell.CELL_TYPE_STRING) {
+            String text = cell.getStringCellValue().trim();
+            if (text.isEmpty()) {
+                return null;
+            }
+            try {
+                return OffsetDateTime.parse(text);
+            } catch (DateTimeParseException e) {
+                errorHandler.accept(HSSFHelper.invalid("date", sheetName, row, col));
+                return null;
+            }
+        }
+        LocalDateTime dateTime = HSSFHelper.getLocalDateTimeCell(cell, sheetName, row, col, errorHandler);
+        return dateTime == null ? null : dateTime.atZone(zone).toOffsetDateTime();
+    }
+}
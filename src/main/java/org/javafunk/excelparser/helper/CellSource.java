@@ -0,0 +1,25 @@
+package org.javafunk.excelparser.helper;
+
+/**
+ * Random access to the cells of one sheet. Row and column numbers are 1-based, as in
+ * {@code ExcelObject} and {@code ExcelField}.
+ */
+public interface CellSource {
+
+    String getSheetName();
+
+    /**
+     * @return the cell, or null when the row or the cell does not exist.
+     */
+    ExcelCell getCell(int row, int col);
+
+    /**
+     * @return the number of the last row of the sheet.
+     */
+    int getLastRowNum();
+
+    /**
+     * @return the number of the last cell in the given row, or 0 when the row does not exist.
+     */
+    int getLastCellNum(int row);
+}
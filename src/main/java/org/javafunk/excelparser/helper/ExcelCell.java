@@ -0,0 +1,45 @@
+package org.javafunk.excelparser.helper;
+
+import org.apache.poi.ss.usermodel.Cell;
+
+/**
+ * Read-only view of a single cell, independent of how the workbook is being read (POI
+ * user model or a streaming reader). Accessors follow the semantics of the matching
+ * {@link Cell} methods, including the {@code IllegalStateException} thrown when a value is
+ * requested from a cell of the wrong type.
+ */
+public interface ExcelCell {
+
+    /**
+     * @return one of the {@code Cell.CELL_TYPE_*} constants.
+     */
+    int getCellType();
+
+    /**
+     * @return one of the {@code Cell.CELL_TYPE_*} constants for formula cells.
+     */
+    int getCachedFormulaResultType();
+
+    double getNumericCellValue();
+
+    String getStringCellValue();
+
+    boolean getBooleanCellValue();
+
+    /**
+     * @return true when the cell holds a valid Excel date and uses a date format.
+     */
+    boolean isDateFormatted();
+
+    /**
+     * @return whether the serial dates of the workbook count from 1904 rather than 1900.
+     */
+    default boolean isDate1904() {
+        return false;
+    }
+
+    /**
+     * @return the value as Excel would display it, as rendered by POI's {@code DataFormatter}.
+     */
+    String getFormattedValue();
+}
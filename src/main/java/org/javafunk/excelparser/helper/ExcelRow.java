@@ -0,0 +1,20 @@
+package org.javafunk.excelparser.helper;
+
+/**
+ * Read-only view of a row delivered in sheet order, independent of how the workbook is
+ * being read. Row and column numbers are 1-based.
+ */
+public interface ExcelRow {
+
+    int getRowNum();
+
+    /**
+     * @return the cell, or null when it does not exist.
+     */
+    ExcelCell getCell(int col);
+
+    /**
+     * @return the number of the last cell in this row.
+     */
+    int getLastCellNum();
+}
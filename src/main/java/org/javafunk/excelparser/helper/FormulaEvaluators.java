@@ -0,0 +1,47 @@
+package org.javafunk.excelparser.helper;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import org.apache.poi.ss.usermodel.FormulaEvaluator;
+import org.apache.poi.ss.usermodel.Workbook;
+
+/**
+ * Opt-in cache of one {@link FormulaEvaluator} per workbook, for callers that parse the same
+ * workbook many times and want the results POI memoizes to survive from call to call.
+ * Without it every parse call creates its own evaluator on first use and drops it when the
+ * call ends.
+ * <p>
+ * An evaluator references its workbook, so a cached workbook stays reachable until it is
+ * {@link #release(Workbook) released}. POI evaluators are not thread-safe: every use must be
+ * synchronized on the evaluator.
+ */
+public class FormulaEvaluators {
+    private final Map<Workbook, FormulaEvaluator> evaluators = new IdentityHashMap<>();
+
+    public synchronized FormulaEvaluator get(Workbook workbook) {
+        return evaluators.computeIfAbsent(workbook, key -> key.getCreationHelper().createFormulaEvaluator());
+    }
+
+    /**
+     * Drops the results memoized for {@code workbook}, so that its formulas are recomputed.
+     */
+    public void refresh(Workbook workbook) {
+        FormulaEvaluator evaluator;
+        synchronized (this) {
+            evaluator = evaluators.get(workbook);
+        }
+        if (evaluator != null) {
+            synchronized (evaluator) {
+                evaluator.clearAllCachedResultValues();
+            }
+        }
+    }
+
+    /**
+     * Forgets the evaluator of {@code workbook}, once it is not parsed any more.
+     */
+    public synchronized void release(Workbook workbook) {
+        evaluators.remove(workbook);
+    }
+}
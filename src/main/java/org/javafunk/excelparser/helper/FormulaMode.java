@@ -0,0 +1,22 @@
+package org.javafunk.excelparser.helper;
+
+/**
+ * How formula cells of a POI workbook are read, trading freshness for speed.
+ */
+public enum FormulaMode {
+    /**
+     * Formula cells read the result cached in the file; nothing is ever evaluated.
+     */
+    CACHED,
+    /**
+     * Formula values come from the cached result, while formula text is evaluated by one
+     * evaluator per parse call, which memoizes every result it computes. A parser given
+     * {@code FormulaEvaluators} keeps that evaluator, and its results, across calls.
+     */
+    EVALUATE_ONCE,
+    /**
+     * Formula cells are recomputed in every parse call, for their values as well as their
+     * text, so edits made since the workbook was last calculated are seen.
+     */
+    FULL
+}
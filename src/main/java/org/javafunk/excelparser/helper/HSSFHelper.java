@@ -1,114 +1,153 @@
 package org.javafunk.excelparser.helper;
 
+import org.javafunk.excelparser.exception.ExcelCellException;
 import org.javafunk.excelparser.exception.ExcelParsingException;
 import org.apache.poi.hssf.usermodel.HSSFCell;
 import org.apache.poi.hssf.usermodel.HSSFDateUtil;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
 import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
 import org.apache.poi.ss.usermodel.DataFormatter;
 import org.apache.poi.ss.usermodel.FormulaEvaluator;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTWorkbookPr;
 
 import java.math.BigDecimal;
 import java.text.DecimalFormat;
-import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.ZoneId;
+import java.time.LocalTime;
 import java.util.Date;
 import java.util.Iterator;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 import static java.text.MessageFormat.format;
 
 public class HSSFHelper {
 	
-	private static DataFormatter formatter = new DataFormatter();
+    // DataFormatter caches formats internally and is not thread-safe
+    private static final ThreadLocal<DataFormatter> formatter = ThreadLocal.withInitial(DataFormatter::new);
+
+    private static final CellConverters DEFAULT_CONVERTERS = new CellConverters();
+
+    private static final int DAY_MILLISECONDS = 24 * 60 * 60 * 1000;
+    // serial 25569 is 1970-01-01 in the 1900 system; serials below 61 precede the phantom 1900-02-29
+    private static final int EPOCH_SERIAL_1900 = 25569;
+    private static final int FIRST_SERIAL_AFTER_LEAP_BUG = 61;
+    // serial 0 is 1904-01-01 in the 1904 system
+    private static final int EPOCH_SERIAL_1904 = 24107;
 
     @SuppressWarnings("unchecked")
     public static <T> T getCellValue(Sheet sheet, Class<T> type, Integer row, Integer col, boolean zeroIfNull, Consumer<ExcelParsingException> errorHandler) {
         Cell cell = getCell(sheet, row, col);
 
-        return validateAndParseValue(cell, sheet.getSheetName(), type, row, col, zeroIfNull, errorHandler);
+        return validateAndParseValue(PoiCell.of(cell), sheet.getSheetName(), type, row, col, zeroIfNull, errorHandler);
     }
 
 
     public static <T> T getCellValue(Row row, String sheetName, Class<T> type, Integer rowIndex, Integer col, boolean zeroIfNull, Consumer<ExcelParsingException> errorHandler) {
         Cell cell = row.getCell(col - 1);
 
-        return validateAndParseValue(cell, sheetName, type, rowIndex, col, zeroIfNull, errorHandler);
+        return validateAndParseValue(PoiCell.of(cell), sheetName, type, rowIndex, col, zeroIfNull, errorHandler);
     }
 
-    @SuppressWarnings("unchecked")
-    private static <T> T validateAndParseValue(Cell cell, String sheetName, Class<T> type, Integer row, Integer col, boolean zeroIfNull, Consumer<ExcelParsingException> errorHandler) {
-        if (type.equals(String.class)) {
-            return (T) getStringCell(cell, errorHandler);
-        }
-
-        if (type.equals(Date.class)) {
-            return cell == null ? null : (T) getDateCell(cell, new Locator(sheetName, row, col), errorHandler);
-        }
-
-        if (type.equals(LocalDate.class)) {
-            return cell == null ? null : (T) getLocalDateCell(cell, new Locator(sheetName, row, col), errorHandler);
-        }
-
-        if (type.equals(LocalDateTime.class)) {
-            return cell == null ? null : (T) getLocalDateTimeCell(cell, new Locator(sheetName, row, col), errorHandler);
-        }
-
-        if (type.equals(Integer.class)) {
-            return (T) getIntegerCell(cell, zeroIfNull, new Locator(sheetName, row, col), errorHandler);
-        }
-
-        if (type.equals(Double.class)) {
-            return (T) getDoubleCell(cell, zeroIfNull, new Locator(sheetName, row, col), errorHandler);
-        }
+    public static <T> T getCellValue(ExcelCell cell, String sheetName, Class<T> type, int row, int col, boolean zeroIfNull, Consumer<ExcelParsingException> errorHandler) {
+        return validateAndParseValue(cell, sheetName, type, row, col, zeroIfNull, errorHandler);
+    }
 
-        if (type.equals(Long.class)) {
-            return (T) getLongCell(cell, zeroIfNull, new Locator(sheetName, row, col), errorHandler);
+    @SuppressWarnings("unchecked")
+    private static <T> T validateAndParseValue(ExcelCell cell, String sheetName, Class<T> type, Integer row, Integer col, boolean zeroIfNull, Consumer<ExcelParsingException> errorHandler) {
+        CellConverter<T> converter = DEFAULT_CONVERTERS.get(type);
+        if (converter == null) {
+            errorHandler.accept(new ExcelParsingException(format("{0} data type not supported for parsing", type.getName())));
+            return null;
         }
+        return converter.convert(cell, sheetName, row, col, zeroIfNull, errorHandler);
+    }
 
-        if (type.equals(BigDecimal.class)) {
-            return (T) getBigDecimalCell(cell, zeroIfNull, new Locator(sheetName, row, col), errorHandler);
+    static LocalDate getLocalDateCell(ExcelCell cell, String sheetName, int row, int col, Consumer<ExcelParsingException> errorHandler) {
+        try {
+            if (!cell.isDateFormatted()) {
+                errorHandler.accept(invalid("date", sheetName, row, col));
+            }
+            return toLocalDate(cell.getNumericCellValue(), cell.isDate1904());
+        } catch (IllegalStateException illegalStateException) {
+            errorHandler.accept(invalid("date", sheetName, row, col));
         }
-
-        errorHandler.accept(new ExcelParsingException(format("{0} data type not supported for parsing", type.getName())));
         return null;
     }
 
-    private static LocalDate getLocalDateCell(Cell cell, Locator locator, Consumer<ExcelParsingException> errorHandler) {
+    static LocalDateTime getLocalDateTimeCell(ExcelCell cell, String sheetName, int row, int col, Consumer<ExcelParsingException> errorHandler) {
         try {
-            if (!HSSFDateUtil.isCellDateFormatted(cell)) {
-                errorHandler.accept(new ExcelParsingException(format("Invalid date found in sheet {0} at row {1}, column {2}", locator.getSheetName(), locator.getRow(), locator.getCol())));
+            if (!cell.isDateFormatted()) {
+                errorHandler.accept(invalid("date", sheetName, row, col));
             }
-
-            Instant instant = Instant.ofEpochMilli(HSSFDateUtil.getJavaDate(cell.getNumericCellValue()).getTime());
-            LocalDateTime res = LocalDateTime.ofInstant(instant, ZoneId.systemDefault());
-            return res.toLocalDate();
-
+            return toLocalDateTime(cell.getNumericCellValue(), cell.isDate1904());
         } catch (IllegalStateException illegalStateException) {
-            errorHandler.accept(new ExcelParsingException(format("Invalid date found in sheet {0} at row {1}, column {2}", locator.getSheetName(), locator.getRow(), locator.getCol())));
+            errorHandler.accept(invalid("date", sheetName, row, col));
         }
         return null;
     }
 
-    private static LocalDateTime getLocalDateTimeCell(Cell cell, Locator locator, Consumer<ExcelParsingException> errorHandler) {
-        try {
-            if (!HSSFDateUtil.isCellDateFormatted(cell)) {
-                errorHandler.accept(new ExcelParsingException(format("Invalid date found in sheet {0} at row {1}, column {2}", locator.getSheetName(), locator.getRow(), locator.getCol())));
-            }
+    /**
+     * Converts an Excel serial date straight to a {@link LocalDate}, rounding the time to the
+     * millisecond like {@link HSSFDateUtil#getJavaDate(double, boolean)} but without a
+     * {@code Calendar}, a {@code Date} or a time zone.
+     *
+     * @return the date, or null for a negative serial.
+     */
+    public static LocalDate toLocalDate(double serial, boolean date1904) {
+        if (serial < 0) {
+            return null;
+        }
+        int wholeDays = (int) Math.floor(serial);
+        int millis = (int) ((serial - wholeDays) * DAY_MILLISECONDS + 0.5);
+        return LocalDate.ofEpochDay(toEpochDay(wholeDays, date1904) + (millis >= DAY_MILLISECONDS ? 1 : 0));
+    }
 
-            Instant instant = Instant.ofEpochMilli(HSSFDateUtil.getJavaDate(cell.getNumericCellValue()).getTime());
-            return LocalDateTime.ofInstant(instant, ZoneId.systemDefault());
+    /**
+     * Same as {@link #toLocalDate(double, boolean)}, keeping the time of day.
+     */
+    public static LocalDateTime toLocalDateTime(double serial, boolean date1904) {
+        if (serial < 0) {
+            return null;
+        }
+        int wholeDays = (int) Math.floor(serial);
+        int millis = (int) ((serial - wholeDays) * DAY_MILLISECONDS + 0.5);
+        long epochDay = toEpochDay(wholeDays, date1904);
+        if (millis >= DAY_MILLISECONDS) {
+            epochDay++;
+            millis -= DAY_MILLISECONDS;
+        }
+        return LocalDateTime.of(LocalDate.ofEpochDay(epochDay), LocalTime.ofNanoOfDay(millis * 1000000L));
+    }
 
-        } catch (IllegalStateException illegalStateException) {
-            errorHandler.accept(new ExcelParsingException(format("Invalid date found in sheet {0} at row {1}, column {2}", locator.getSheetName(), locator.getRow(), locator.getCol())));
+    private static long toEpochDay(int wholeDays, boolean date1904) {
+        if (date1904) {
+            return wholeDays - EPOCH_SERIAL_1904;
         }
-        return null;
+        return wholeDays < FIRST_SERIAL_AFTER_LEAP_BUG ? wholeDays - EPOCH_SERIAL_1900 + 1 : wholeDays - EPOCH_SERIAL_1900;
+    }
+
+    /**
+     * @return whether serial dates in {@code workbook} count from 1904 instead of 1900.
+     */
+    static boolean isDate1904(Workbook workbook) {
+        if (workbook instanceof HSSFWorkbook) {
+            return ((HSSFWorkbook) workbook).getInternalWorkbook().isUsing1904DateWindowing();
+        }
+        if (workbook instanceof XSSFWorkbook) {
+            CTWorkbookPr properties = ((XSSFWorkbook) workbook).getCTWorkbook().getWorkbookPr();
+            return properties != null && properties.getDate1904();
+        }
+        return false;
     }
 
-    private static BigDecimal getBigDecimalCell(Cell cell, boolean zeroIfNull, Locator locator, Consumer<ExcelParsingException> errorHandler) {
+    static BigDecimal getBigDecimalCell(ExcelCell cell, boolean zeroIfNull, String sheetName, int row, int col, Consumer<ExcelParsingException> errorHandler) {
         String val = getStringCell(cell, errorHandler);
         if(val == null || val.trim().equals("")) {
             if(zeroIfNull) {
@@ -119,7 +158,7 @@ public class HSSFHelper {
         try {
             return new BigDecimal(val);
         } catch (NumberFormatException e) {
-            errorHandler.accept(new ExcelParsingException(format("Invalid number found in sheet {0} at row {1}, column {2}", locator.getSheetName(), locator.getRow(), locator.getCol())));
+            errorHandler.accept(invalid("number", sheetName, row, col));
         }
 
         if (zeroIfNull) {
@@ -145,6 +184,10 @@ public class HSSFHelper {
     }
 
     static String getStringCell(Cell cell, Consumer<ExcelParsingException> errorHandler) {
+        return getStringCell(PoiCell.of(cell), errorHandler);
+    }
+
+    static String getStringCell(ExcelCell cell, Consumer<ExcelParsingException> errorHandler) {
         if (cell == null) {
             return null;
         }
@@ -153,8 +196,7 @@ public class HSSFHelper {
             int type = cell.getCachedFormulaResultType();
 
             if (type == HSSFCell.CELL_TYPE_NUMERIC) {
-            	FormulaEvaluator fe = cell.getSheet().getWorkbook().getCreationHelper().createFormulaEvaluator(); 
-            	return formatter.formatCellValue(cell, fe);
+                return cell.getFormattedValue();
             }
 
             if (type == HSSFCell.CELL_TYPE_ERROR) {
@@ -162,7 +204,7 @@ public class HSSFHelper {
             }
 
             if (type == HSSFCell.CELL_TYPE_STRING) {
-                return cell.getRichStringCellValue().getString().trim();
+                return cell.getStringCellValue().trim();
             }
 
             if (type == HSSFCell.CELL_TYPE_BOOLEAN) {
@@ -170,57 +212,155 @@ public class HSSFHelper {
             }
 
         } else if (cell.getCellType() != HSSFCell.CELL_TYPE_NUMERIC) {
-            return cell.getRichStringCellValue().getString().trim();
+            return cell.getStringCellValue().trim();
+        }
+
+        return cell.getFormattedValue();
+    }
+
+    static String formatCellValue(Cell cell) {
+        return formatCellValue(cell, new LazyFormulaEvaluator(cell.getSheet().getWorkbook()));
+    }
+
+    static String formatCellValue(Cell cell, Supplier<FormulaEvaluator> evaluator) {
+        if (cell.getCellType() == HSSFCell.CELL_TYPE_FORMULA) {
+            FormulaEvaluator formulaEvaluator = evaluator.get();
+            synchronized (formulaEvaluator) {
+                return formatter.get().formatCellValue(cell, formulaEvaluator);
+            }
         }
+        return formatter.get().formatCellValue(cell);
+    }
 
-        return formatter.formatCellValue(cell);
+    /**
+     * Formats a cell like {@link #formatCellValue(Cell)}, using the cached result of a
+     * formula cell instead of evaluating it.
+     */
+    static String formatCachedCellValue(Cell cell) {
+        if (cell.getCellType() != HSSFCell.CELL_TYPE_FORMULA) {
+            return formatter.get().formatCellValue(cell);
+        }
+        switch (cell.getCachedFormulaResultType()) {
+            case HSSFCell.CELL_TYPE_NUMERIC:
+                CellStyle style = cell.getCellStyle();
+                return formatter.get().formatRawCellContents(cell.getNumericCellValue(), style.getDataFormat(), style.getDataFormatString());
+            case HSSFCell.CELL_TYPE_STRING:
+                return cell.getRichStringCellValue().getString();
+            case HSSFCell.CELL_TYPE_BOOLEAN:
+                return cell.getBooleanCellValue() ? "TRUE" : "FALSE";
+            default:
+                return "";
+        }
     }
 
     static Date getDateCell(Cell cell, Locator locator, Consumer<ExcelParsingException> errorHandler) {
+        return getDateCell(PoiCell.of(cell), locator.getSheetName(), locator.getRow(), locator.getCol(), errorHandler);
+    }
+
+    static Date getDateCell(ExcelCell cell, String sheetName, int row, int col, Consumer<ExcelParsingException> errorHandler) {
         try {
-            if (!HSSFDateUtil.isCellDateFormatted(cell)) {
-                errorHandler.accept(new ExcelParsingException(format("Invalid date found in sheet {0} at row {1}, column {2}", locator.getSheetName(), locator.getRow(), locator.getCol())));
+            if (!cell.isDateFormatted()) {
+                errorHandler.accept(invalid("date", sheetName, row, col));
             }
-            return HSSFDateUtil.getJavaDate(cell.getNumericCellValue());
+            return HSSFDateUtil.getJavaDate(cell.getNumericCellValue(), cell.isDate1904());
         } catch (IllegalStateException illegalStateException) {
-            errorHandler.accept(new ExcelParsingException(format("Invalid date found in sheet {0} at row {1}, column {2}", locator.getSheetName(), locator.getRow(), locator.getCol())));
+            errorHandler.accept(invalid("date", sheetName, row, col));
         }
         return null;
     }
 
     static Double getDoubleCell(Cell cell, boolean zeroIfNull, Locator locator, Consumer<ExcelParsingException> errorHandler) {
-        if (cell == null) {
+        return getDoubleCell(PoiCell.of(cell), zeroIfNull, locator.getSheetName(), locator.getRow(), locator.getCol(), errorHandler);
+    }
+
+    static Double getDoubleCell(ExcelCell cell, boolean zeroIfNull, String sheetName, int row, int col, Consumer<ExcelParsingException> errorHandler) {
+        if (isBlank(cell)) {
             return zeroIfNull ? 0d : null;
         }
 
-        if (cell.getCellType() == HSSFCell.CELL_TYPE_NUMERIC || cell.getCellType() == HSSFCell.CELL_TYPE_FORMULA) {
+        if (isNumber(cell)) {
             return cell.getNumericCellValue();
         }
 
-        if (cell.getCellType() == HSSFCell.CELL_TYPE_BLANK) {
-            return zeroIfNull ? 0d : null;
-        }
-
-        errorHandler.accept(new ExcelParsingException(format("Invalid number found in sheet {0} at row {1}, column {2}", locator.getSheetName(), locator.getRow(), locator.getCol())));
+        errorHandler.accept(invalid("number", sheetName, row, col));
         return null;
     }
 
+    /**
+     * Primitive variant of {@link #getDoubleCell(ExcelCell, boolean, String, int, int, Consumer)}:
+     * blank and invalid cells read as 0.
+     */
+    static double getDoubleValue(ExcelCell cell, String sheetName, int row, int col, Consumer<ExcelParsingException> errorHandler) {
+        if (isNumber(cell)) {
+            return cell.getNumericCellValue();
+        }
+        if (!isBlank(cell)) {
+            errorHandler.accept(invalid("number", sheetName, row, col));
+        }
+        return 0;
+    }
+
     static Long getLongCell(Cell cell, boolean zeroIfNull, Locator locator, Consumer<ExcelParsingException> errorHandler) {
-        Double doubleValue = getNumberWithoutDecimals(cell, zeroIfNull, locator, errorHandler);
-        return doubleValue == null ? null : doubleValue.longValue();
+        return getLongCell(PoiCell.of(cell), zeroIfNull, locator.getSheetName(), locator.getRow(), locator.getCol(), errorHandler);
+    }
+
+    static Long getLongCell(ExcelCell cell, boolean zeroIfNull, String sheetName, int row, int col, Consumer<ExcelParsingException> errorHandler) {
+        if (isBlank(cell)) {
+            return zeroIfNull ? 0L : null;
+        }
+        if (!isNumber(cell)) {
+            errorHandler.accept(invalid("number", sheetName, row, col));
+            return null;
+        }
+        return getLongValue(cell, sheetName, row, col, errorHandler);
+    }
+
+    static long getLongValue(ExcelCell cell, String sheetName, int row, int col, Consumer<ExcelParsingException> errorHandler) {
+        return (long) getNumberWithoutDecimals(cell, sheetName, row, col, errorHandler);
     }
 
     static Integer getIntegerCell(Cell cell, boolean zeroIfNull, Locator locator, Consumer<ExcelParsingException> errorHandler) {
-        Double doubleValue = getNumberWithoutDecimals(cell, zeroIfNull, locator, errorHandler);
-        return doubleValue == null ? null : doubleValue.intValue();
+        return getIntegerCell(PoiCell.of(cell), zeroIfNull, locator.getSheetName(), locator.getRow(), locator.getCol(), errorHandler);
     }
 
-    private static Double getNumberWithoutDecimals(Cell cell, boolean zeroIfNull, Locator locator, Consumer<ExcelParsingException> errorHandler) {
-        Double doubleValue = getDoubleCell(cell, zeroIfNull, locator, errorHandler);
-        if (doubleValue != null && doubleValue % 1 != 0) {
-            errorHandler.accept(new ExcelParsingException(format("Invalid number found in sheet {0} at row {1}, column {2}", locator.getSheetName(), locator.getRow(), locator.getCol())));
+    static Integer getIntegerCell(ExcelCell cell, boolean zeroIfNull, String sheetName, int row, int col, Consumer<ExcelParsingException> errorHandler) {
+        if (isBlank(cell)) {
+            return zeroIfNull ? 0 : null;
         }
-        return doubleValue;
+        if (!isNumber(cell)) {
+            errorHandler.accept(invalid("number", sheetName, row, col));
+            return null;
+        }
+        return getIntValue(cell, sheetName, row, col, errorHandler);
+    }
+
+    static int getIntValue(ExcelCell cell, String sheetName, int row, int col, Consumer<ExcelParsingException> errorHandler) {
+        return (int) getNumberWithoutDecimals(cell, sheetName, row, col, errorHandler);
+    }
+
+    private static double getNumberWithoutDecimals(ExcelCell cell, String sheetName, int row, int col, Consumer<ExcelParsingException> errorHandler) {
+        double value = getDoubleValue(cell, sheetName, row, col, errorHandler);
+        if (value % 1 != 0) {
+            errorHandler.accept(invalid("number", sheetName, row, col));
+        }
+        return value;
+    }
+
+    private static boolean isBlank(ExcelCell cell) {
+        return cell == null || cell.getCellType() == HSSFCell.CELL_TYPE_BLANK;
+    }
+
+    private static boolean isNumber(ExcelCell cell) {
+        return cell != null && (cell.getCellType() == HSSFCell.CELL_TYPE_NUMERIC || cell.getCellType() == HSSFCell.CELL_TYPE_FORMULA);
+    }
+
+    /**
+     * Builds the error for a cell that cannot be converted. The location is passed as plain
+     * values so that cells which convert cleanly allocate nothing for it, and the message is
+     * only formatted if the error is actually reported.
+     */
+    static ExcelParsingException invalid(String what, String sheetName, int row, int col) {
+        return new ExcelCellException(what, sheetName, row, col);
     }
 
 }
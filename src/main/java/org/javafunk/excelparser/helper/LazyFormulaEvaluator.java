@@ -0,0 +1,27 @@
+package org.javafunk.excelparser.helper;
+
+import java.util.function.Supplier;
+
+import org.apache.poi.ss.usermodel.FormulaEvaluator;
+import org.apache.poi.ss.usermodel.Workbook;
+
+/**
+ * Creates the {@link FormulaEvaluator} of a workbook on first use and keeps it only as long
+ * as this supplier is referenced, for cells read without a {@link SheetCellSource}.
+ */
+final class LazyFormulaEvaluator implements Supplier<FormulaEvaluator> {
+    private final Workbook workbook;
+    private FormulaEvaluator evaluator;
+
+    LazyFormulaEvaluator(Workbook workbook) {
+        this.workbook = workbook;
+    }
+
+    @Override
+    public FormulaEvaluator get() {
+        if (evaluator == null) {
+            evaluator = workbook.getCreationHelper().createFormulaEvaluator();
+        }
+        return evaluator;
+    }
+}
@@ -0,0 +1,125 @@
+package org.javafunk.excelparser.helper;
+
+import org.apache.poi.hssf.usermodel.HSSFDateUtil;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellValue;
+import org.apache.poi.ss.usermodel.FormulaEvaluator;
+
+import java.util.function.Supplier;
+
+/**
+ * {@link ExcelCell} backed by a POI user model {@link Cell}. Formula cells are read
+ * according to the {@link FormulaMode}, evaluated with the evaluator supplied by the owning
+ * {@link CellSource}, or with one created only if this cell needs it when there is none.
+ */
+public final class PoiCell implements ExcelCell {
+    private final Cell cell;
+    private final Supplier<FormulaEvaluator> evaluator;
+    private final FormulaMode formulaMode;
+    private final Boolean date1904;
+
+    private PoiCell(Cell cell, Supplier<FormulaEvaluator> evaluator, FormulaMode formulaMode, Boolean date1904) {
+        this.cell = cell;
+        this.evaluator = evaluator != null ? evaluator : new LazyFormulaEvaluator(cell.getSheet().getWorkbook());
+        this.formulaMode = formulaMode;
+        this.date1904 = date1904;
+    }
+
+    public static ExcelCell of(Cell cell) {
+        return of(cell, null);
+    }
+
+    public static ExcelCell of(Cell cell, Supplier<FormulaEvaluator> evaluator) {
+        return of(cell, evaluator, FormulaMode.EVALUATE_ONCE);
+    }
+
+    public static ExcelCell of(Cell cell, Supplier<FormulaEvaluator> evaluator, FormulaMode formulaMode) {
+        return cell == null ? null : new PoiCell(cell, evaluator, formulaMode, null);
+    }
+
+    /**
+     * @param date1904 the date system of the workbook, so that it is not looked up per cell.
+     */
+    public static ExcelCell of(Cell cell, Supplier<FormulaEvaluator> evaluator, FormulaMode formulaMode, boolean date1904) {
+        return cell == null ? null : new PoiCell(cell, evaluator, formulaMode, date1904);
+    }
+
+    @Override
+    public int getCellType() {
+        return cell.getCellType();
+    }
+
+    @Override
+    public int getCachedFormulaResultType() {
+        if (isRecomputed()) {
+            CellValue value = evaluate();
+            return value == null ? Cell.CELL_TYPE_BLANK : value.getCellType();
+        }
+        return cell.getCachedFormulaResultType();
+    }
+
+    @Override
+    public double getNumericCellValue() {
+        if (isRecomputed()) {
+            return evaluate(Cell.CELL_TYPE_NUMERIC).getNumberValue();
+        }
+        return cell.getNumericCellValue();
+    }
+
+    @Override
+    public String getStringCellValue() {
+        if (isRecomputed()) {
+            return evaluate(Cell.CELL_TYPE_STRING).getStringValue();
+        }
+        return cell.getRichStringCellValue().getString();
+    }
+
+    @Override
+    public boolean getBooleanCellValue() {
+        if (isRecomputed()) {
+            return evaluate(Cell.CELL_TYPE_BOOLEAN).getBooleanValue();
+        }
+        return cell.getBooleanCellValue();
+    }
+
+    @Override
+    public boolean isDateFormatted() {
+        return HSSFDateUtil.isCellDateFormatted(cell);
+    }
+
+    @Override
+    public boolean isDate1904() {
+        return date1904 != null ? date1904 : HSSFHelper.isDate1904(cell.getSheet().getWorkbook());
+    }
+
+    @Override
+    public String getFormattedValue() {
+        if (formulaMode == FormulaMode.CACHED) {
+            return HSSFHelper.formatCachedCellValue(cell);
+        }
+        return HSSFHelper.formatCellValue(cell, evaluator);
+    }
+
+    private boolean isRecomputed() {
+        return formulaMode == FormulaMode.FULL && cell.getCellType() == Cell.CELL_TYPE_FORMULA;
+    }
+
+    /**
+     * Mirrors {@link Cell}: asking for a value of the wrong type is an
+     * {@code IllegalStateException}.
+     */
+    private CellValue evaluate(int type) {
+        CellValue value = evaluate();
+        if (value == null || value.getCellType() != type) {
+            throw new IllegalStateException("Formula of cell " + cell.getRowIndex() + "," + cell.getColumnIndex() + " does not evaluate to type " + type);
+        }
+        return value;
+    }
+
+    private CellValue evaluate() {
+        FormulaEvaluator formulaEvaluator = evaluator.get();
+        synchronized (formulaEvaluator) {
+            return formulaEvaluator.evaluate(cell);
+        }
+    }
+}
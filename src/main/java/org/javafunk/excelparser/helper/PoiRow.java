@@ -0,0 +1,44 @@
+package org.javafunk.excelparser.helper;
+
+import java.util.function.Supplier;
+
+import org.apache.poi.ss.usermodel.FormulaEvaluator;
+import org.apache.poi.ss.usermodel.Row;
+
+/**
+ * {@link ExcelRow} backed by a POI user model {@link Row}. Its cells read formulas and
+ * dates like those of the {@link SheetCellSource} it was taken from.
+ */
+public final class PoiRow implements ExcelRow {
+    private final Row row;
+    private final Supplier<FormulaEvaluator> evaluator;
+    private final FormulaMode formulaMode;
+    private final boolean date1904;
+
+    public PoiRow(Row row) {
+        this(row, new LazyFormulaEvaluator(row.getSheet().getWorkbook()), FormulaMode.EVALUATE_ONCE,
+            HSSFHelper.isDate1904(row.getSheet().getWorkbook()));
+    }
+
+    PoiRow(Row row, Supplier<FormulaEvaluator> evaluator, FormulaMode formulaMode, boolean date1904) {
+        this.row = row;
+        this.evaluator = evaluator;
+        this.formulaMode = formulaMode;
+        this.date1904 = date1904;
+    }
+
+    @Override
+    public int getRowNum() {
+        return row.getRowNum() + 1;
+    }
+
+    @Override
+    public ExcelCell getCell(int col) {
+        return PoiCell.of(row.getCell(col - 1), evaluator, formulaMode, date1904);
+    }
+
+    @Override
+    public int getLastCellNum() {
+        return row.getLastCellNum();
+    }
+}
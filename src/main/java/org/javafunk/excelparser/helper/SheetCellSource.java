@@ -0,0 +1,85 @@
+package org.javafunk.excelparser.helper;
+
+import java.util.function.Supplier;
+
+import org.apache.poi.ss.usermodel.FormulaEvaluator;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+
+/**
+ * {@link CellSource} over a fully loaded POI {@link Sheet}. Formula cells are read
+ * according to the {@link FormulaMode}, with an evaluator created on first use and dropped
+ * with the source, or taken from the {@link FormulaEvaluators} given; the source itself
+ * must stay confined to one thread.
+ */
+public class SheetCellSource implements CellSource {
+    private final Sheet sheet;
+    private final FormulaMode formulaMode;
+    private final FormulaEvaluators evaluators;
+    private final Supplier<FormulaEvaluator> evaluatorSupplier = this::getFormulaEvaluator;
+    private final boolean date1904;
+    private FormulaEvaluator evaluator;
+
+    public SheetCellSource(Sheet sheet) {
+        this(sheet, FormulaMode.EVALUATE_ONCE);
+    }
+
+    public SheetCellSource(Sheet sheet, FormulaMode formulaMode) {
+        this(sheet, formulaMode, null);
+    }
+
+    /**
+     * @param evaluators the cache to take the evaluator from, or null for one of its own.
+     */
+    public SheetCellSource(Sheet sheet, FormulaMode formulaMode, FormulaEvaluators evaluators) {
+        this.sheet = sheet;
+        this.formulaMode = formulaMode;
+        this.evaluators = evaluators;
+        this.date1904 = HSSFHelper.isDate1904(sheet.getWorkbook());
+    }
+
+    @Override
+    public String getSheetName() {
+        return sheet.getSheetName();
+    }
+
+    @Override
+    public ExcelCell getCell(int row, int col) {
+        return PoiCell.of(HSSFHelper.getCell(sheet, row, col), evaluatorSupplier, formulaMode, date1904);
+    }
+
+    /**
+     * @return whether the serial dates of the workbook count from 1904, as read when the
+     * source was created.
+     */
+    public boolean isDate1904() {
+        return date1904;
+    }
+
+    /**
+     * @return {@code row}, a row of this sheet, with cells read like those of this source.
+     */
+    public ExcelRow getRow(Row row) {
+        return new PoiRow(row, evaluatorSupplier, formulaMode, date1904);
+    }
+
+    @Override
+    public int getLastRowNum() {
+        return sheet.getLastRowNum() + 1;
+    }
+
+    @Override
+    public int getLastCellNum(int row) {
+        Row sheetRow = sheet.getRow(row - 1);
+        return sheetRow == null ? 0 : sheetRow.getLastCellNum();
+    }
+
+    private FormulaEvaluator getFormulaEvaluator() {
+        if (evaluator == null) {
+            evaluator = evaluators == null
+                ? sheet.getWorkbook().getCreationHelper().createFormulaEvaluator()
+                : evaluators.get(sheet.getWorkbook());
+        }
+        return evaluator;
+    }
+}
@@ -0,0 +1,31 @@
+package org.javafunk.excelparser.mapping;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.util.List;
+
+/**
+ * Backend that turns reflected fields and constructors into the setters and instantiators
+ * a {@link MappingPlan} runs for every row. Members are already accessible when passed in.
+ */
+public interface Accessors {
+
+    FieldSetter setter(Field field);
+
+    <T> Instantiator<T> instantiator(Constructor<T> constructor);
+
+    /**
+     * @return a writer for {@code fields}, by default one {@link FieldSetter} call per field.
+     */
+    default EntityWriter writer(List<FieldMapping> fields) {
+        FieldSetter[] setters = new FieldSetter[fields.size()];
+        for (int slot = 0; slot < setters.length; slot++) {
+            setters[slot] = fields.get(slot).getSetter();
+        }
+        return (target, values) -> {
+            for (int slot = 0; slot < setters.length; slot++) {
+                setters[slot].set(target, values[slot]);
+            }
+        };
+    }
+}
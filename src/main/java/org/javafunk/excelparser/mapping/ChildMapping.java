@@ -0,0 +1,57 @@
+package org.javafunk.excelparser.mapping;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.List;
+
+import org.javafunk.excelparser.annotations.MappedExcelObject;
+
+import lombok.Value;
+
+/**
+ * A {@link MappedExcelObject} annotated field resolved once for a {@link MappingPlan}.
+ * {@code type} is the nested {@code ExcelObject} class, i.e. the element type when the
+ * field is a {@link List}.
+ */
+@Value
+public class ChildMapping {
+    Field field;
+    Class<?> type;
+    boolean list;
+    boolean copy;
+    FieldSetter setter;
+
+    static ChildMapping of(Field field, Accessors accessors) {
+        field.setAccessible(true);
+        boolean list = field.getType().equals(List.class);
+        return new ChildMapping(field, list ? getElementType(field) : field.getType(), list,
+            field.getAnnotation(MappedExcelObject.class).copy(), accessors.setter(field));
+    }
+
+    /**
+     * Assigns the parsed child block to the parent: the whole list for {@code List} fields,
+     * otherwise the first entity (if any).
+     */
+    public void set(Object target, List<?> values) {
+        if (list) {
+            setter.set(target, values);
+        } else if (!values.isEmpty()) {
+            setter.set(target, values.get(0));
+        }
+    }
+
+    public Object get(Object target) {
+        return FieldMapping.read(field, target);
+    }
+
+    private static Class<?> getElementType(Field field) {
+        Type type = field.getGenericType();
+        if (type instanceof ParameterizedType) {
+            ParameterizedType pt = (ParameterizedType) type;
+            return (Class<?>) pt.getActualTypeArguments()[0];
+        }
+
+        return null;
+    }
+}
@@ -0,0 +1,11 @@
+package org.javafunk.excelparser.mapping;
+
+/**
+ * Writes the converted field values of one entity in a single call, {@code values[i]} going
+ * to the field at slot {@code i} of the {@link MappingPlan}. Failures are reported as
+ * {@code ExcelParsingException}.
+ */
+public interface EntityWriter {
+
+    void write(Object target, Object[] values);
+}
@@ -0,0 +1,124 @@
+package org.javafunk.excelparser.mapping;
+
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.javafunk.excelparser.annotations.ExcelField;
+import org.javafunk.excelparser.exception.ExcelParsingException;
+import org.javafunk.excelparser.helper.CellConverter;
+import org.javafunk.excelparser.helper.CellConverters;
+import org.javafunk.excelparser.helper.ExcelCell;
+import org.javafunk.excelparser.validation.CellValidator;
+import org.javafunk.excelparser.validation.ValidatorRegistry;
+
+import lombok.Value;
+
+/**
+ * An {@link ExcelField} annotated field resolved once for a {@link MappingPlan}: the
+ * accessible field, its annotation, its cell position, its target type with the
+ * {@link CellConverter} for it, its validators (compiled once, so regexes are not recompiled
+ * per cell), its setter and its slot in the plan's {@link EntityWriter} ({@code -1} for
+ * {@link #isUnboxed()} fields, which are set one by one).
+ */
+@Value
+public class FieldMapping {
+    Field field;
+    ExcelField annotation;
+    int position;
+    Class<?> type;
+    CellConverter<?> converter;
+    List<CellValidator> validators;
+    FieldSetter setter;
+    int slot;
+
+    static FieldMapping of(Field field, ExcelField annotation, Accessors accessors, ValidatorRegistry validators,
+                           CellConverters converters) {
+        field.setAccessible(true);
+        CellConverter<?> converter = converters.get(field.getType());
+        return new FieldMapping(field, annotation, annotation.position(), field.getType(),
+            converter != null ? converter : CellConverters.unsupported(field.getType()),
+            validators.validatorsFor(field, annotation), accessors.setter(field), -1);
+    }
+
+    /**
+     * @return this mapping reading from {@code position}, as resolved from a header.
+     */
+    FieldMapping withPosition(int position) {
+        return new FieldMapping(field, annotation, position, type, converter, validators, setter, slot);
+    }
+
+    FieldMapping withSlot(int slot) {
+        return new FieldMapping(field, annotation, position, type, converter, validators, setter, slot);
+    }
+
+    public Object convert(ExcelCell cell, String sheetName, int row, int col, boolean zeroIfNull,
+                          Consumer<ExcelParsingException> errorHandler) {
+        return converter.convert(cell, sheetName, row, col, zeroIfNull, errorHandler);
+    }
+
+    /**
+     * @return whether the values are pooled, see {@link ExcelField#dedupe()}.
+     */
+    public boolean isDeduplicated() {
+        return annotation.dedupe() && type == String.class;
+    }
+
+    /**
+     * @return whether the field is a primitive {@code int}, {@code long} or {@code double}
+     * without validators, which {@link #read} converts and sets without boxing.
+     */
+    public boolean isUnboxed() {
+        return (type == int.class || type == long.class || type == double.class) && !isValidated();
+    }
+
+    /**
+     * Converts the cell and sets it on {@code target} in one step, without boxing; only for
+     * {@link #isUnboxed()} fields.
+     */
+    public void read(Object target, ExcelCell cell, String sheetName, int row, int col,
+                     Consumer<ExcelParsingException> errorHandler) {
+        if (type == int.class) {
+            setter.setInt(target, CellConverters.toInt(cell, sheetName, row, col, errorHandler));
+        } else if (type == long.class) {
+            setter.setLong(target, CellConverters.toLong(cell, sheetName, row, col, errorHandler));
+        } else {
+            setter.setDouble(target, CellConverters.toDouble(cell, sheetName, row, col, errorHandler));
+        }
+    }
+
+    public boolean isValidated() {
+        return !validators.isEmpty();
+    }
+
+    /**
+     * @return whether {@code value}, rendered as {@code text}, passes every validator.
+     */
+    public boolean isValid(Object value, String text) {
+        for (CellValidator validator : validators) {
+            if (!validator.isValid(value, text)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public void set(Object target, Object value) {
+        setter.set(target, value);
+    }
+
+    /**
+     * Reads the field back by reflection; only used to copy entities, never per cell.
+     */
+    public Object get(Object target) {
+        return read(field, target);
+    }
+
+    static Object read(Field field, Object target) {
+        try {
+            return field.get(target);
+        } catch (IllegalAccessException e) {
+            throw new ExcelParsingException("Exception occurred while reading the field " + field.getName(), e);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package org.javafunk.excelparser.mapping;
+
+/**
+ * Writes one field of an entity. Failures are reported as {@code ExcelParsingException}.
+ * The primitive variants let backends write {@code int}, {@code long} and {@code double}
+ * fields without boxing; by default they box and call {@link #set(Object, Object)}.
+ */
+public interface FieldSetter {
+
+    void set(Object target, Object value);
+
+    default void setInt(Object target, int value) {
+        set(target, value);
+    }
+
+    default void setLong(Object target, long value) {
+        set(target, value);
+    }
+
+    default void setDouble(Object target, double value) {
+        set(target, value);
+    }
+}
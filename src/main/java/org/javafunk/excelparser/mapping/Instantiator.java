@@ -0,0 +1,9 @@
+package org.javafunk.excelparser.mapping;
+
+/**
+ * Creates an entity through its no-arg constructor.
+ */
+public interface Instantiator<T> {
+
+    T newInstance() throws Exception;
+}
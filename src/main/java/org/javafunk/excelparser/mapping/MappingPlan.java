@@ -0,0 +1,358 @@
+package org.javafunk.excelparser.mapping;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.javafunk.excelparser.annotations.ExcelField;
+import org.javafunk.excelparser.annotations.ExcelObject;
+import org.javafunk.excelparser.annotations.HeaderMatch;
+import org.javafunk.excelparser.annotations.MappedExcelObject;
+import org.javafunk.excelparser.annotations.ParseType;
+import org.javafunk.excelparser.exception.ExcelParsingException;
+import org.javafunk.excelparser.helper.CellConverters;
+import org.javafunk.excelparser.helper.CellSource;
+import org.javafunk.excelparser.helper.ExcelCell;
+import org.javafunk.excelparser.validation.ValidatorRegistry;
+
+import lombok.Value;
+
+/**
+ * Everything the parser needs to know about an {@link ExcelObject} class, resolved by
+ * reflection once: the class level annotation, the no-arg constructor, the
+ * {@link ExcelField} fields ordered by position and the {@link MappedExcelObject} children,
+ * with setters, entity writer and instantiator built by an {@link Accessors} backend, validators built by a
+ * {@link ValidatorRegistry} and cell converters resolved from {@link CellConverters}.
+ * <p>
+ * Fields bound by {@link ExcelField#header()} have no position until the plan is
+ * {@link #bind bound} to the header of a sheet, which yields a plan with every position
+ * resolved, so header bound fields cost nothing extra per cell.
+ * <p>
+ * A bound plan also decides, from the cells of its fields, how far a block can reach
+ * ({@link #getRowOrColumnEnd}), where its data ends ({@link #findEnd}) and which locations
+ * are skipped as empty ({@link #skips}).
+ * <p>
+ * Plans are immutable and safe to share between threads; obtain them through a
+ * {@link MappingPlanCache} rather than compiling them per parse.
+ */
+@Value
+public class MappingPlan<T> {
+    private static final Consumer<ExcelParsingException> IGNORE = error -> { };
+
+    Class<T> type;
+    ExcelObject excelObject;
+    Instantiator<T> instantiator;
+    List<FieldMapping> fields;
+    List<ChildMapping> children;
+    boolean headerMapped;
+    EntityWriter writer;
+    int slots;
+
+    public static <T> MappingPlan<T> compile(Class<T> clazz) {
+        return compile(clazz, new MethodHandleAccessors());
+    }
+
+    public static <T> MappingPlan<T> compile(Class<T> clazz, Accessors accessors) {
+        return compile(clazz, accessors, new ValidatorRegistry());
+    }
+
+    public static <T> MappingPlan<T> compile(Class<T> clazz, Accessors accessors, ValidatorRegistry validators) {
+        return compile(clazz, accessors, validators, new CellConverters());
+    }
+
+    public static <T> MappingPlan<T> compile(Class<T> clazz, Accessors accessors, ValidatorRegistry validators,
+                                             CellConverters converters) {
+        Map<Integer, FieldMapping> fieldMap = new TreeMap<>();
+        List<FieldMapping> headerFields = new ArrayList<>();
+        List<ChildMapping> children = new ArrayList<>();
+        for (Field field : clazz.getDeclaredFields()) {
+            ExcelField excelField = field.getAnnotation(ExcelField.class);
+            if (excelField != null) {
+                FieldMapping mapping = FieldMapping.of(field, excelField, accessors, validators, converters);
+                if (!excelField.header().isEmpty()) {
+                    headerFields.add(mapping);
+                } else if (excelField.position() > 0) {
+                    fieldMap.put(excelField.position(), mapping);
+                } else {
+                    throw new ExcelParsingException("Invalid class configuration - ExcelField needs a position or a header - "
+                        + clazz.getSimpleName() + "." + field.getName());
+                }
+            }
+            if (field.getAnnotation(MappedExcelObject.class) != null) {
+                children.add(ChildMapping.of(field, accessors));
+            }
+        }
+
+        List<FieldMapping> fields = new ArrayList<>(fieldMap.values());
+        fields.addAll(headerFields);
+        List<FieldMapping> written = new ArrayList<>(fields.size());
+        for (int i = 0; i < fields.size(); i++) {
+            if (!fields.get(i).isUnboxed()) {
+                FieldMapping slotted = fields.get(i).withSlot(written.size());
+                fields.set(i, slotted);
+                written.add(slotted);
+            }
+        }
+        Constructor<T> constructor = getConstructor(clazz);
+        return new MappingPlan<>(clazz,
+            clazz.getAnnotation(ExcelObject.class),
+            constructor == null ? null : accessors.instantiator(constructor),
+            Collections.unmodifiableList(fields),
+            Collections.unmodifiableList(children),
+            !headerFields.isEmpty(),
+            accessors.writer(written),
+            written.size());
+    }
+
+    /**
+     * Reads the header of {@code cells} once and resolves the {@link ExcelField#header()}
+     * bound fields to the positions of their header cells. The first matching cell wins; a
+     * field whose header is missing is reported and left unset.
+     *
+     * @return this plan if it has no header bound fields, otherwise a plan with every field
+     * at its position.
+     */
+    public MappingPlan<T> bind(CellSource cells, Consumer<ExcelParsingException> errorHandler) {
+        if (!headerMapped) {
+            return this;
+        }
+        HeaderMatch match = excelObject.headerMatch();
+        Map<String, Integer> positions = readHeader(cells, match, errorHandler);
+        List<FieldMapping> bound = new ArrayList<>(fields.size());
+        for (FieldMapping field : fields) {
+            String header = field.getAnnotation().header();
+            if (header.isEmpty()) {
+                bound.add(field);
+                continue;
+            }
+            Integer position = positions.get(match.normalize(header));
+            if (position == null) {
+                errorHandler.accept(new ExcelParsingException("Header " + header + " not found in sheet " + cells.getSheetName()
+                    + " for " + type.getSimpleName() + "." + field.getField().getName()));
+            } else {
+                bound.add(field.withPosition(position));
+            }
+        }
+        bound.sort(Comparator.comparingInt(FieldMapping::getPosition));
+        return new MappingPlan<>(type, excelObject, instantiator, Collections.unmodifiableList(bound), children, false,
+            writer, slots);
+    }
+
+    /**
+     * @return the row (for {@link ParseType#ROW}) or column holding the header names.
+     */
+    public int getHeaderIndex() {
+        return excelObject.headerIndex() > 0 ? excelObject.headerIndex() : excelObject.start() - 1;
+    }
+
+    /**
+     * @return whether the location is skipped without creating an entity: under
+     * {@link ExcelObject#ignoreAllZerosOrNullRows()}, every field cell is blank or zero.
+     */
+    public boolean skips(CellSource cells, int location) {
+        if (!excelObject.ignoreAllZerosOrNullRows()) {
+            return false;
+        }
+        for (FieldMapping field : fields) {
+            if (!isBlankOrZero(cell(cells, field, location), true)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return whether a {@link ExcelField#key()} field, {@link ExcelObject#endSentinel()} or
+     * {@link ExcelObject#endAfterBlanks()} decides where the data ends.
+     */
+    public boolean detectsEnd() {
+        return excelObject.endAfterBlanks() > 0 || !excelObject.endSentinel().isEmpty() || hasKey();
+    }
+
+    /**
+     * @return whether the data has ended before {@code location}: a key field cell is blank or
+     * the sentinel is found.
+     */
+    public boolean isEnd(CellSource cells, int location) {
+        String sentinel = excelObject.endSentinel();
+        boolean keyed = hasKey();
+        for (FieldMapping field : fields) {
+            if (keyed && !field.getAnnotation().key()) {
+                continue;
+            }
+            ExcelCell cell = cell(cells, field, location);
+            if (keyed && isBlankOrZero(cell, false)) {
+                return true;
+            }
+            if (!sentinel.isEmpty() && cell != null && sentinel.equals(text(cells, field, location, cell))) {
+                return true;
+            }
+            if (!keyed) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return whether every field cell of the location is blank.
+     */
+    public boolean isBlank(CellSource cells, int location) {
+        for (FieldMapping field : fields) {
+            if (!isBlankOrZero(cell(cells, field, location), false)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the last row of the sheet for {@link ParseType#ROW} plans, else the last column
+     * of the rows of the fields.
+     */
+    public int getRowOrColumnEnd(CellSource cells) {
+        if (excelObject.parseType() == ParseType.ROW) {
+            return cells.getLastRowNum();
+        }
+        if (fields.isEmpty()) {
+            return 0;
+        }
+        int maxCellNumber = 0;
+        for (int row = fields.get(0).getPosition(); row <= fields.get(fields.size() - 1).getPosition(); row++) {
+            maxCellNumber = Math.max(maxCellNumber, cells.getLastCellNum(row));
+        }
+        return maxCellNumber;
+    }
+
+    /**
+     * Scans from {@code start} for the end of the data, reading only as far as needed.
+     *
+     * @return the last location with data, at most {@code last}.
+     */
+    public int findEnd(CellSource cells, int last) {
+        int blanks = excelObject.endAfterBlanks();
+        int end = excelObject.start() - 1;
+        int run = 0;
+        for (int location = excelObject.start(); location <= last; location++) {
+            if (isEnd(cells, location)) {
+                return blanks > 0 ? end : location - 1;
+            }
+            if (blanks > 0 && isBlank(cells, location)) {
+                if (++run == blanks) {
+                    return end;
+                }
+            } else {
+                run = 0;
+                end = location;
+            }
+        }
+        return blanks > 0 ? end : last;
+    }
+
+    private boolean hasKey() {
+        for (FieldMapping field : fields) {
+            if (field.getAnnotation().key()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private ExcelCell cell(CellSource cells, FieldMapping field, int location) {
+        return excelObject.parseType() == ParseType.ROW
+            ? cells.getCell(location, field.getPosition())
+            : cells.getCell(field.getPosition(), location);
+    }
+
+    private String text(CellSource cells, FieldMapping field, int location, ExcelCell cell) {
+        boolean rowParse = excelObject.parseType() == ParseType.ROW;
+        String text = CellConverters.STRING.convert(cell, cells.getSheetName(),
+            rowParse ? location : field.getPosition(), rowParse ? field.getPosition() : location, false, IGNORE);
+        return text == null ? null : text.trim();
+    }
+
+    private static boolean isBlankOrZero(ExcelCell cell, boolean zeroIsBlank) {
+        if (cell == null) {
+            return true;
+        }
+        int type = cell.getCellType();
+        if (type == Cell.CELL_TYPE_FORMULA) {
+            type = cell.getCachedFormulaResultType();
+        }
+        switch (type) {
+            case Cell.CELL_TYPE_BLANK:
+                return true;
+            case Cell.CELL_TYPE_STRING:
+                return cell.getStringCellValue().trim().isEmpty();
+            case Cell.CELL_TYPE_NUMERIC:
+                return zeroIsBlank && cell.getNumericCellValue() == 0;
+            default:
+                return false;
+        }
+    }
+
+    private Map<String, Integer> readHeader(CellSource cells, HeaderMatch match, Consumer<ExcelParsingException> errorHandler) {
+        Map<String, Integer> positions = new HashMap<>();
+        int header = getHeaderIndex();
+        if (header <= 0) {
+            return positions;
+        }
+        boolean rowHeader = excelObject.parseType() == ParseType.ROW;
+        int last = rowHeader ? cells.getLastCellNum(header) : cells.getLastRowNum();
+        for (int position = 1; position <= last; position++) {
+            int row = rowHeader ? header : position;
+            int col = rowHeader ? position : header;
+            ExcelCell cell = cells.getCell(row, col);
+            String name = CellConverters.STRING.convert(cell, cells.getSheetName(), row, col, false, errorHandler);
+            if (name != null && !name.trim().isEmpty()) {
+                positions.putIfAbsent(match.normalize(name), position);
+            }
+        }
+        return positions;
+    }
+
+    /**
+     * @return an array to collect the values of one entity in, by {@link FieldMapping#getSlot()}.
+     */
+    public Object[] newValues() {
+        return new Object[slots];
+    }
+
+    /**
+     * Sets the values collected for every field with a slot on {@code target} in one call.
+     * Slots of fields dropped by {@link #bind} are expected to hold {@code null}.
+     */
+    public void write(T target, Object[] values) {
+        writer.write(target, values);
+    }
+
+    public T newInstance(Consumer<ExcelParsingException> errorHandler) {
+        try {
+            if (instantiator == null) {
+                throw new NoSuchMethodException(type.getName() + ".<init>()");
+            }
+            return instantiator.newInstance();
+        } catch (Exception e) {
+            errorHandler.accept(new ExcelParsingException("Exception occurred while instantiating the class " + type.getName(), e));
+            return null;
+        }
+    }
+
+    private static <T> Constructor<T> getConstructor(Class<T> clazz) {
+        try {
+            Constructor<T> constructor = clazz.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            return constructor;
+        } catch (NoSuchMethodException | SecurityException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package org.javafunk.excelparser.mapping;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.javafunk.excelparser.helper.CellConverters;
+import org.javafunk.excelparser.validation.ValidatorRegistry;
+
+/**
+ * Bounded, thread-safe cache of {@link MappingPlan}s keyed by class. Least recently used
+ * plans are evicted once {@code maxSize} classes have been compiled.
+ */
+public class MappingPlanCache {
+    public static final int DEFAULT_MAX_SIZE = 256;
+
+    private final Map<Class<?>, MappingPlan<?>> plans;
+    private final Accessors accessors;
+    private final ValidatorRegistry validators;
+    private final CellConverters converters;
+
+    public MappingPlanCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    public MappingPlanCache(int maxSize) {
+        this(maxSize, new MethodHandleAccessors());
+    }
+
+    public MappingPlanCache(int maxSize, Accessors accessors) {
+        this(maxSize, accessors, new ValidatorRegistry());
+    }
+
+    public MappingPlanCache(int maxSize, Accessors accessors, ValidatorRegistry validators) {
+        this(maxSize, accessors, validators, new CellConverters());
+    }
+
+    public MappingPlanCache(final int maxSize, Accessors accessors, ValidatorRegistry validators, CellConverters converters) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+        }
+        this.accessors = accessors;
+        this.validators = validators;
+        this.converters = converters;
+        plans = new LinkedHashMap<Class<?>, MappingPlan<?>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Class<?>, MappingPlan<?>> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> MappingPlan<T> get(Class<T> clazz) {
+        synchronized (plans) {
+            MappingPlan<T> plan = (MappingPlan<T>) plans.get(clazz);
+            if (plan == null) {
+                plan = MappingPlan.compile(clazz, accessors, validators, converters);
+                plans.put(clazz, plan);
+            }
+            return plan;
+        }
+    }
+
+    public int size() {
+        synchronized (plans) {
+            return plans.size();
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package org.javafunk.excelparser.mapping;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.javafunk.excelparser.exception.ExcelParsingException;
+
+/**
+ * Default backend. The {@link EntityWriter} of a plan calls a single method handle that
+ * sets every field from its slot of the values array, composed from the field setter
+ * handles with {@link MethodHandles#foldArguments}, so an entity is written with one
+ * handle invocation instead of one per field.
+ * <p>
+ * Single field setters (used for primitive fields and copies) are {@link MethodHandle}s
+ * adapted to {@code (Object, Object)void}, public constructors of public classes become
+ * {@link LambdaMetafactory} generated {@link Supplier}s, other constructors are constructor
+ * method handles. Members that cannot be unreflected fall back to {@link ReflectionAccessors}.
+ */
+public class MethodHandleAccessors implements Accessors {
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final MethodType INT_SETTER_TYPE = MethodType.methodType(void.class, Object.class, int.class);
+    private static final MethodType LONG_SETTER_TYPE = MethodType.methodType(void.class, Object.class, long.class);
+    private static final MethodType DOUBLE_SETTER_TYPE = MethodType.methodType(void.class, Object.class, double.class);
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class);
+    private static final MethodType WRITER_TYPE = MethodType.methodType(void.class, Object.class, Object[].class);
+    private static final MethodHandle WRITE_NOTHING;
+    private static final MethodHandle FIELD_SETTER;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            WRITE_NOTHING = lookup.findStatic(MethodHandleAccessors.class, "writeNothing", WRITER_TYPE);
+            FIELD_SETTER = lookup.findVirtual(FieldSetter.class, "set", SETTER_TYPE);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final MethodHandles.Lookup lookup = MethodHandles.lookup();
+    private final Accessors fallback = new ReflectionAccessors();
+
+    @Override
+    public FieldSetter setter(Field field) {
+        MethodHandle unreflected;
+        try {
+            unreflected = lookup.unreflectSetter(field);
+        } catch (IllegalAccessException e) {
+            return fallback.setter(field);
+        }
+        MethodHandle handle = unreflected.asType(SETTER_TYPE);
+        FieldSetter setter = (target, value) -> {
+            try {
+                handle.invokeExact(target, value);
+            } catch (Throwable e) {
+                throw failed(e);
+            }
+        };
+        Class<?> type = field.getType();
+        if (type == int.class) {
+            return intSetter(setter, unreflected.asType(INT_SETTER_TYPE));
+        }
+        if (type == long.class) {
+            return longSetter(setter, unreflected.asType(LONG_SETTER_TYPE));
+        }
+        if (type == double.class) {
+            return doubleSetter(setter, unreflected.asType(DOUBLE_SETTER_TYPE));
+        }
+        return setter;
+    }
+
+    /**
+     * Folds the setters in reverse, so that the composed handle sets the fields in slot order.
+     */
+    @Override
+    public EntityWriter writer(List<FieldMapping> fields) {
+        MethodHandle all = WRITE_NOTHING;
+        for (int slot = fields.size() - 1; slot >= 0; slot--) {
+            MethodHandle element = MethodHandles.insertArguments(MethodHandles.arrayElementGetter(Object[].class), 1, slot);
+            all = MethodHandles.foldArguments(all, MethodHandles.filterArguments(setterHandle(fields.get(slot)), 1, element));
+        }
+        MethodHandle handle = all;
+        return (target, values) -> {
+            try {
+                handle.invokeExact(target, values);
+            } catch (Throwable e) {
+                throw failed(e);
+            }
+        };
+    }
+
+    private MethodHandle setterHandle(FieldMapping field) {
+        try {
+            return lookup.unreflectSetter(field.getField()).asType(SETTER_TYPE);
+        } catch (IllegalAccessException e) {
+            return FIELD_SETTER.bindTo(field.getSetter());
+        }
+    }
+
+    private static void writeNothing(Object target, Object[] values) {
+    }
+
+    private static FieldSetter intSetter(FieldSetter setter, MethodHandle handle) {
+        return new FieldSetter() {
+            @Override
+            public void set(Object target, Object value) {
+                setter.set(target, value);
+            }
+
+            @Override
+            public void setInt(Object target, int value) {
+                try {
+                    handle.invokeExact(target, value);
+                } catch (Throwable e) {
+                    throw failed(e);
+                }
+            }
+        };
+    }
+
+    private static FieldSetter longSetter(FieldSetter setter, MethodHandle handle) {
+        return new FieldSetter() {
+            @Override
+            public void set(Object target, Object value) {
+                setter.set(target, value);
+            }
+
+            @Override
+            public void setLong(Object target, long value) {
+                try {
+                    handle.invokeExact(target, value);
+                } catch (Throwable e) {
+                    throw failed(e);
+                }
+            }
+        };
+    }
+
+    private static FieldSetter doubleSetter(FieldSetter setter, MethodHandle handle) {
+        return new FieldSetter() {
+            @Override
+            public void set(Object target, Object value) {
+                setter.set(target, value);
+            }
+
+            @Override
+            public void setDouble(Object target, double value) {
+                try {
+                    handle.invokeExact(target, value);
+                } catch (Throwable e) {
+                    throw failed(e);
+                }
+            }
+        };
+    }
+
+    private static RuntimeException failed(Throwable e) {
+        if (e instanceof Error) {
+            throw (Error) e;
+        }
+        return new ExcelParsingException("Exception occurred while setting field value ", (Exception) e);
+    }
+
+    @Override
+    public <T> Instantiator<T> instantiator(Constructor<T> constructor) {
+        MethodHandle handle;
+        try {
+            handle = lookup.unreflectConstructor(constructor);
+        } catch (IllegalAccessException e) {
+            return fallback.instantiator(constructor);
+        }
+        Instantiator<T> generated = lambdaInstantiator(constructor, handle);
+        return generated != null ? generated : methodHandleInstantiator(handle.asType(CONSTRUCTOR_TYPE));
+    }
+
+    private <T> Instantiator<T> lambdaInstantiator(Constructor<T> constructor, MethodHandle handle) {
+        Class<T> type = constructor.getDeclaringClass();
+        if (!Modifier.isPublic(type.getModifiers()) || !Modifier.isPublic(constructor.getModifiers()) || !isVisible(type)) {
+            return null;
+        }
+        try {
+            CallSite site = LambdaMetafactory.metafactory(lookup, "get", MethodType.methodType(Supplier.class),
+                CONSTRUCTOR_TYPE, handle, MethodType.methodType(type));
+            @SuppressWarnings("unchecked")
+            Supplier<T> supplier = (Supplier<T>) (Supplier<?>) site.getTarget().invokeExact();
+            return supplier::get;
+        } catch (Throwable e) {
+            return null;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Instantiator<T> methodHandleInstantiator(MethodHandle handle) {
+        return () -> {
+            try {
+                return (T) (Object) handle.invokeExact();
+            } catch (Exception | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new UndeclaredThrowableException(e);
+            }
+        };
+    }
+
+    private boolean isVisible(Class<?> type) {
+        try {
+            return Class.forName(type.getName(), false, MethodHandleAccessors.class.getClassLoader()) == type;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+}
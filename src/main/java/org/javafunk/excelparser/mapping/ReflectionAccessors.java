@@ -0,0 +1,63 @@
+package org.javafunk.excelparser.mapping;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+
+import org.javafunk.excelparser.exception.ExcelParsingException;
+
+/**
+ * Plain {@code Field.set} / {@code Constructor.newInstance} backend. Works for every
+ * member and is the fallback of {@link MethodHandleAccessors}.
+ */
+public class ReflectionAccessors implements Accessors {
+
+    @Override
+    public FieldSetter setter(Field field) {
+        return new FieldSetter() {
+            @Override
+            public void set(Object target, Object value) {
+                try {
+                    field.set(target, value);
+                } catch (IllegalArgumentException | IllegalAccessException e) {
+                    throw failed(e);
+                }
+            }
+
+            @Override
+            public void setInt(Object target, int value) {
+                try {
+                    field.setInt(target, value);
+                } catch (IllegalArgumentException | IllegalAccessException e) {
+                    throw failed(e);
+                }
+            }
+
+            @Override
+            public void setLong(Object target, long value) {
+                try {
+                    field.setLong(target, value);
+                } catch (IllegalArgumentException | IllegalAccessException e) {
+                    throw failed(e);
+                }
+            }
+
+            @Override
+            public void setDouble(Object target, double value) {
+                try {
+                    field.setDouble(target, value);
+                } catch (IllegalArgumentException | IllegalAccessException e) {
+                    throw failed(e);
+                }
+            }
+        };
+    }
+
+    private static ExcelParsingException failed(Exception e) {
+        return new ExcelParsingException("Exception occurred while setting field value ", e);
+    }
+
+    @Override
+    public <T> Instantiator<T> instantiator(Constructor<T> constructor) {
+        return constructor::newInstance;
+    }
+}
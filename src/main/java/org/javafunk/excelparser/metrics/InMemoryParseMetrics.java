@@ -0,0 +1,140 @@
+package org.javafunk.excelparser.metrics;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.javafunk.excelparser.exception.ExcelParsingException;
+
+/**
+ * Thread-safe {@link ParseMetrics} keeping running totals, to be read and exported to a
+ * monitoring system. Totals cover every parse the instance was given to.
+ */
+public class InMemoryParseMetrics implements ParseMetrics {
+    private final LongAdder bytesRead = new LongAdder();
+    private final LongAdder sheets = new LongAdder();
+    private final LongAdder sheetNanos = new LongAdder();
+    private final LongAdder entities = new LongAdder();
+    private final LongAdder topLevelEntities = new LongAdder();
+    private final LongAdder accessorNanos = new LongAdder();
+    private final LongAdder conversionNanos = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final ConcurrentMap<Class<?>, LongAdder> cellsConverted = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, LongAdder> validationFailures = new ConcurrentHashMap<>();
+
+    @Override
+    public void bytesRead(long bytes) {
+        bytesRead.add(bytes);
+    }
+
+    @Override
+    public void cellConverted(Class<?> fieldType, long nanos) {
+        cellsConverted.computeIfAbsent(fieldType, type -> new LongAdder()).increment();
+        conversionNanos.add(nanos);
+    }
+
+    @Override
+    public void entityCreated(Class<?> type, long nanos) {
+        entities.increment();
+        accessorNanos.add(nanos);
+    }
+
+    @Override
+    public void validationFailed(Class<?> type, String fieldName) {
+        validationFailures.computeIfAbsent(type.getSimpleName() + "." + fieldName, field -> new LongAdder()).increment();
+    }
+
+    @Override
+    public void errorReported(ExcelParsingException error) {
+        errors.increment();
+    }
+
+    @Override
+    public void sheetParsed(String sheetName, Class<?> type, int entities, long nanos) {
+        sheets.increment();
+        sheetNanos.add(nanos);
+        topLevelEntities.add(entities);
+    }
+
+    public long getBytesRead() {
+        return bytesRead.sum();
+    }
+
+    public long getSheetsParsed() {
+        return sheets.sum();
+    }
+
+    public long getSheetNanos() {
+        return sheetNanos.sum();
+    }
+
+    /**
+     * @return all entities created, nested ones included.
+     */
+    public long getEntitiesCreated() {
+        return entities.sum();
+    }
+
+    /**
+     * @return entities of the parsed types themselves, as returned by each parse.
+     */
+    public long getTopLevelEntities() {
+        return topLevelEntities.sum();
+    }
+
+    /**
+     * @return top-level entities per second of sheet parsing time, or 0 before any sheet has
+     * been parsed.
+     */
+    public double getRowsPerSecond() {
+        long nanos = sheetNanos.sum();
+        return nanos == 0 ? 0 : topLevelEntities.sum() * 1e9 / nanos;
+    }
+
+    /**
+     * @return time spent converting cells in {@code HSSFHelper}.
+     */
+    public long getConversionNanos() {
+        return conversionNanos.sum();
+    }
+
+    /**
+     * @return time spent instantiating entities and setting their fields.
+     */
+    public long getAccessorNanos() {
+        return accessorNanos.sum();
+    }
+
+    public long getErrorsReported() {
+        return errors.sum();
+    }
+
+    public long getCellsConverted() {
+        return sum(cellsConverted).values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    /**
+     * @return converted cells by field type name.
+     */
+    public Map<String, Long> getCellsConvertedByType() {
+        Map<String, Long> byName = new TreeMap<>();
+        sum(cellsConverted).forEach((type, count) -> byName.put(type.getName(), count));
+        return byName;
+    }
+
+    /**
+     * @return validation failures keyed by {@code SimpleClassName.fieldName}.
+     */
+    public Map<String, Long> getValidationFailures() {
+        return new TreeMap<>(sum(validationFailures));
+    }
+
+    private static <K> Map<K, Long> sum(Map<K, LongAdder> adders) {
+        Map<K, Long> sums = new HashMap<>();
+        adders.forEach((key, adder) -> sums.put(key, adder.sum()));
+        return sums;
+    }
+}
@@ -0,0 +1,51 @@
+package org.javafunk.excelparser.metrics;
+
+import org.javafunk.excelparser.exception.ExcelParsingException;
+
+/**
+ * Listener for what a parse spends its time on. Every method defaults to doing nothing;
+ * parsers given {@link #NONE} skip the callbacks and the clock reads altogether.
+ * <p>
+ * Callbacks come from the parsing threads, so implementations shared between parsers or
+ * used with parallel parsing must be thread-safe.
+ */
+public interface ParseMetrics {
+    ParseMetrics NONE = new ParseMetrics() {
+    };
+
+    /**
+     * A sheet has been loaded or streamed from a file of {@code bytes} bytes.
+     */
+    default void bytesRead(long bytes) {
+    }
+
+    /**
+     * One cell has been converted to {@code fieldType}, including the string rendering
+     * needed for validation.
+     */
+    default void cellConverted(Class<?> fieldType, long nanos) {
+    }
+
+    /**
+     * One entity has been created; {@code accessorNanos} is the time spent instantiating it
+     * and setting its fields.
+     */
+    default void entityCreated(Class<?> type, long accessorNanos) {
+    }
+
+    default void validationFailed(Class<?> type, String fieldName) {
+    }
+
+    /**
+     * The error handler of the parse is about to be called with {@code error}.
+     */
+    default void errorReported(ExcelParsingException error) {
+    }
+
+    /**
+     * A parse of {@code type} from {@code sheetName} has returned {@code entities} top level
+     * entities in {@code nanos}. Not reported for lazy streams and iterators.
+     */
+    default void sheetParsed(String sheetName, Class<?> type, int entities, long nanos) {
+    }
+}
@@ -0,0 +1,119 @@
+package org.javafunk.excelparser.streaming;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.util.Arrays;
+
+import org.javafunk.excelparser.exception.ExcelParsingException;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Spools the shared strings table to a temporary file and only keeps the offset of each
+ * string on the heap. Strings are read back from the file on every lookup. The file is
+ * deleted on {@link #close()}, so every store must be closed. Subclasses can read the file differently, see
+ * {@link MappedSharedStrings}.
+ */
+public class FileBackedSharedStrings implements SharedStrings {
+    private final File file;
+    private OutputStream out;
+    private RandomAccessFile data;
+    private long[] offsets = new long[1024];
+    private int size;
+
+    public FileBackedSharedStrings() {
+        try {
+            file = File.createTempFile("excel-parser-sst", ".tmp");
+        } catch (IOException e) {
+            throw new ExcelParsingException("Exception occurred while creating shared strings file", e);
+        }
+        try {
+            out = new BufferedOutputStream(new FileOutputStream(file), 64 * 1024);
+        } catch (IOException e) {
+            file.delete();
+            throw new ExcelParsingException("Exception occurred while creating shared strings file", e);
+        }
+    }
+
+    @Override
+    public synchronized void add(String value) {
+        if (out == null) {
+            throw new IllegalStateException("Shared strings cannot be added after the first lookup");
+        }
+        byte[] bytes = value.getBytes(UTF_8);
+        try {
+            out.write(bytes);
+        } catch (IOException e) {
+            throw new ExcelParsingException("Exception occurred while writing shared strings file", e);
+        }
+        if (size + 2 > offsets.length) {
+            offsets = Arrays.copyOf(offsets, offsets.length * 2);
+        }
+        offsets[size + 1] = offsets[size] + bytes.length;
+        size++;
+    }
+
+    @Override
+    public synchronized String get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Shared string index " + index + " out of " + size);
+        }
+        try {
+            if (out != null) {
+                out.close();
+                out = null;
+                openForReading(file);
+            }
+            return new String(read(offsets[index], (int) (offsets[index + 1] - offsets[index])), UTF_8);
+        } catch (IOException e) {
+            throw new ExcelParsingException("Exception occurred while reading shared strings file", e);
+        }
+    }
+
+    /**
+     * Called once, on the first lookup, after the last string has been written.
+     */
+    protected void openForReading(File file) throws IOException {
+        data = new RandomAccessFile(file, "r");
+    }
+
+    protected byte[] read(long offset, int length) throws IOException {
+        byte[] bytes = new byte[length];
+        data.seek(offset);
+        data.readFully(bytes);
+        return bytes;
+    }
+
+    /**
+     * Releases what {@link #openForReading(File)} opened, before the file is deleted.
+     */
+    protected void closeReading() throws IOException {
+        if (data != null) {
+            data.close();
+        }
+    }
+
+    @Override
+    public synchronized int size() {
+        return size;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            if (out != null) {
+                out.close();
+            } else {
+                closeReading();
+            }
+        } finally {
+            out = null;
+            data = null;
+            file.delete();
+        }
+    }
+}
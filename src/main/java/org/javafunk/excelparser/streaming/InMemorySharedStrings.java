@@ -0,0 +1,32 @@
+package org.javafunk.excelparser.streaming;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps the whole shared strings table on the heap. Fastest option for workbooks whose
+ * string table comfortably fits in memory.
+ */
+public class InMemorySharedStrings implements SharedStrings {
+    private final List<String> strings = new ArrayList<>();
+
+    @Override
+    public void add(String value) {
+        strings.add(value);
+    }
+
+    @Override
+    public String get(int index) {
+        return strings.get(index);
+    }
+
+    @Override
+    public int size() {
+        return strings.size();
+    }
+
+    @Override
+    public void close() {
+        strings.clear();
+    }
+}
@@ -0,0 +1,91 @@
+package org.javafunk.excelparser.streaming;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@link FileBackedSharedStrings} that memory-maps the spooled file once the table is
+ * complete, so a lookup copies the bytes of one string out of the page cache instead of
+ * seeking and reading the file. Only the offset index and a small LRU cache of decoded
+ * strings live on the heap, so huge string tables parse with a small fixed heap.
+ * <p>
+ * The mapping is released when the buffers are garbage collected.
+ */
+public class MappedSharedStrings extends FileBackedSharedStrings {
+    public static final int DEFAULT_CACHE_SIZE = 1024;
+
+    // FileChannel.map is limited to Integer.MAX_VALUE bytes per buffer
+    private static final int SEGMENT_SIZE = 1 << 30;
+
+    private final Map<Integer, String> cache;
+    private FileChannel channel;
+    private MappedByteBuffer[] segments;
+
+    public MappedSharedStrings() {
+        this(DEFAULT_CACHE_SIZE);
+    }
+
+    public MappedSharedStrings(final int cacheSize) {
+        if (cacheSize < 0) {
+            throw new IllegalArgumentException("cacheSize must not be negative: " + cacheSize);
+        }
+        cache = new LinkedHashMap<Integer, String>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, String> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    @Override
+    public synchronized String get(int index) {
+        String value = cache.get(index);
+        if (value == null) {
+            value = super.get(index);
+            cache.put(index, value);
+        }
+        return value;
+    }
+
+    @Override
+    protected void openForReading(File file) throws IOException {
+        channel = new RandomAccessFile(file, "r").getChannel();
+        long length = channel.size();
+        segments = new MappedByteBuffer[(int) ((length + SEGMENT_SIZE - 1) / SEGMENT_SIZE)];
+        for (int i = 0; i < segments.length; i++) {
+            long position = (long) i * SEGMENT_SIZE;
+            segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(SEGMENT_SIZE, length - position));
+        }
+    }
+
+    @Override
+    protected byte[] read(long offset, int length) {
+        byte[] bytes = new byte[length];
+        int copied = 0;
+        while (copied < length) {
+            long position = offset + copied;
+            MappedByteBuffer segment = segments[(int) (position / SEGMENT_SIZE)];
+            int start = (int) (position % SEGMENT_SIZE);
+            int count = Math.min(length - copied, segment.limit() - start);
+            // lookups are synchronized, so the shared buffer position can be moved
+            segment.position(start);
+            segment.get(bytes, copied, count);
+            copied += count;
+        }
+        return bytes;
+    }
+
+    @Override
+    protected void closeReading() throws IOException {
+        cache.clear();
+        segments = null;
+        if (channel != null) {
+            channel.close();
+        }
+    }
+}
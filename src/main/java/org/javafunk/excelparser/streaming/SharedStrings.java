@@ -0,0 +1,18 @@
+package org.javafunk.excelparser.streaming;
+
+import java.io.Closeable;
+
+/**
+ * Store for the shared strings table of an .xlsx workbook. Streaming readers fill it once
+ * while reading the shared strings part and then resolve string cells by index.
+ * Implementations decide where the strings live, see {@link InMemorySharedStrings} and
+ * {@link FileBackedSharedStrings}.
+ */
+public interface SharedStrings extends Closeable {
+
+    void add(String value);
+
+    String get(int index);
+
+    int size();
+}
@@ -0,0 +1,22 @@
+package org.javafunk.excelparser.streaming;
+
+import java.io.File;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * Streaming reader of one worksheet: hands its rows to the consumer in sheet order while
+ * the file is being read.
+ */
+public interface SheetReader {
+
+    default void read(File file, String sheetName, Consumer<? super StreamingRow> rowConsumer) {
+        read(file, sheetName, rowConsumer, () -> false);
+    }
+
+    /**
+     * @param done checked after each row; once it returns true the rest of the file is not
+     * read.
+     */
+    void read(File file, String sheetName, Consumer<? super StreamingRow> rowConsumer, BooleanSupplier done);
+}
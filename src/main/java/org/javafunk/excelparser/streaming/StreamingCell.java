@@ -0,0 +1,155 @@
+package org.javafunk.excelparser.streaming;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.javafunk.excelparser.helper.ExcelCell;
+
+/**
+ * {@link ExcelCell} produced by the streaming readers. Only the cached value of formula
+ * cells is available, formulas are never evaluated.
+ */
+public final class StreamingCell implements ExcelCell {
+    private static final String GENERAL_FORMAT = "General";
+
+    private final int cellType;
+    private final int cachedFormulaResultType;
+    private final double numericValue;
+    private final String stringValue;
+    private final boolean booleanValue;
+    private final int formatIndex;
+    private final String formatString;
+    private final DataFormatter formatter;
+    private final boolean date1904;
+
+    private StreamingCell(int cellType, int cachedFormulaResultType, double numericValue, String stringValue,
+                          boolean booleanValue, int formatIndex, String formatString, DataFormatter formatter,
+                          boolean date1904) {
+        this.cellType = cellType;
+        this.cachedFormulaResultType = cachedFormulaResultType;
+        this.numericValue = numericValue;
+        this.stringValue = stringValue;
+        this.booleanValue = booleanValue;
+        this.formatIndex = formatIndex;
+        this.formatString = formatString == null ? GENERAL_FORMAT : formatString;
+        this.formatter = formatter;
+        this.date1904 = date1904;
+    }
+
+    public static StreamingCell numeric(boolean formula, double value, int formatIndex, String formatString, DataFormatter formatter) {
+        return numeric(formula, value, formatIndex, formatString, formatter, false);
+    }
+
+    /**
+     * @param date1904 the date system of the workbook, read once by the reader.
+     */
+    public static StreamingCell numeric(boolean formula, double value, int formatIndex, String formatString, DataFormatter formatter,
+                                        boolean date1904) {
+        return of(formula, Cell.CELL_TYPE_NUMERIC, value, null, false, formatIndex, formatString, formatter, date1904);
+    }
+
+    public static StreamingCell string(boolean formula, String value) {
+        return of(formula, Cell.CELL_TYPE_STRING, 0, value, false, 0, null, null, false);
+    }
+
+    public static StreamingCell bool(boolean formula, boolean value) {
+        return of(formula, Cell.CELL_TYPE_BOOLEAN, 0, null, value, 0, null, null, false);
+    }
+
+    public static StreamingCell error(boolean formula) {
+        return of(formula, Cell.CELL_TYPE_ERROR, 0, null, false, 0, null, null, false);
+    }
+
+    public static StreamingCell blank(int formatIndex, String formatString, DataFormatter formatter) {
+        return of(false, Cell.CELL_TYPE_BLANK, 0, null, false, formatIndex, formatString, formatter, false);
+    }
+
+    private static StreamingCell of(boolean formula, int valueType, double numericValue, String stringValue,
+                                    boolean booleanValue, int formatIndex, String formatString, DataFormatter formatter,
+                                    boolean date1904) {
+        return new StreamingCell(formula ? Cell.CELL_TYPE_FORMULA : valueType, formula ? valueType : Cell.CELL_TYPE_BLANK,
+            numericValue, stringValue, booleanValue, formatIndex, formatString, formatter, date1904);
+    }
+
+    @Override
+    public int getCellType() {
+        return cellType;
+    }
+
+    @Override
+    public int getCachedFormulaResultType() {
+        if (cellType != Cell.CELL_TYPE_FORMULA) {
+            throw new IllegalStateException("Only formula cells have cached results");
+        }
+        return cachedFormulaResultType;
+    }
+
+    @Override
+    public double getNumericCellValue() {
+        switch (valueType()) {
+            case Cell.CELL_TYPE_NUMERIC:
+                return numericValue;
+            case Cell.CELL_TYPE_BLANK:
+                return 0;
+            default:
+                throw typeMismatch("numeric");
+        }
+    }
+
+    @Override
+    public String getStringCellValue() {
+        switch (valueType()) {
+            case Cell.CELL_TYPE_STRING:
+                return stringValue;
+            case Cell.CELL_TYPE_BLANK:
+                return "";
+            default:
+                throw typeMismatch("text");
+        }
+    }
+
+    @Override
+    public boolean getBooleanCellValue() {
+        switch (valueType()) {
+            case Cell.CELL_TYPE_BOOLEAN:
+                return booleanValue;
+            case Cell.CELL_TYPE_BLANK:
+                return false;
+            default:
+                throw typeMismatch("boolean");
+        }
+    }
+
+    @Override
+    public boolean isDateFormatted() {
+        double value = getNumericCellValue();
+        return DateUtil.isValidExcelDate(value) && DateUtil.isADateFormat(formatIndex, formatString);
+    }
+
+    @Override
+    public boolean isDate1904() {
+        return date1904;
+    }
+
+    @Override
+    public String getFormattedValue() {
+        switch (valueType()) {
+            case Cell.CELL_TYPE_NUMERIC:
+                return formatter.formatRawCellContents(numericValue, formatIndex, formatString, date1904);
+            case Cell.CELL_TYPE_STRING:
+                return stringValue;
+            case Cell.CELL_TYPE_BOOLEAN:
+                return booleanValue ? "TRUE" : "FALSE";
+            default:
+                return "";
+        }
+    }
+
+    private int valueType() {
+        return cellType == Cell.CELL_TYPE_FORMULA ? cachedFormulaResultType : cellType;
+    }
+
+    private IllegalStateException typeMismatch(String expected) {
+        return new IllegalStateException("Cannot get a " + expected + " value from a cell of type " + valueType());
+    }
+}
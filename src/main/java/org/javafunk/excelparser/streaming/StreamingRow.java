@@ -0,0 +1,44 @@
+package org.javafunk.excelparser.streaming;
+
+import java.util.Arrays;
+
+import org.javafunk.excelparser.helper.ExcelCell;
+import org.javafunk.excelparser.helper.ExcelRow;
+
+/**
+ * A row delivered by a streaming reader. Row and column numbers are 1-based.
+ */
+public final class StreamingRow implements ExcelRow {
+    private static final ExcelCell[] NO_CELLS = new ExcelCell[0];
+
+    private final int rowNum;
+    private ExcelCell[] cells = NO_CELLS;
+    private int lastCellNum;
+
+    public StreamingRow(int rowNum) {
+        this.rowNum = rowNum;
+    }
+
+    @Override
+    public int getRowNum() {
+        return rowNum;
+    }
+
+    @Override
+    public ExcelCell getCell(int col) {
+        return col > 0 && col <= lastCellNum ? cells[col - 1] : null;
+    }
+
+    @Override
+    public int getLastCellNum() {
+        return lastCellNum;
+    }
+
+    void setCell(int col, ExcelCell cell) {
+        if (col > cells.length) {
+            cells = Arrays.copyOf(cells, Math.max(col, cells.length * 2));
+        }
+        cells[col - 1] = cell;
+        lastCellNum = Math.max(lastCellNum, col);
+    }
+}
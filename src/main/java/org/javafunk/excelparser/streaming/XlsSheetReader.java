@@ -0,0 +1,239 @@
+package org.javafunk.excelparser.streaming;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+import org.apache.poi.hssf.eventusermodel.AbortableHSSFListener;
+import org.apache.poi.hssf.eventusermodel.FormatTrackingHSSFListener;
+import org.apache.poi.hssf.eventusermodel.HSSFEventFactory;
+import org.apache.poi.hssf.eventusermodel.HSSFListener;
+import org.apache.poi.hssf.eventusermodel.HSSFRequest;
+import org.apache.poi.hssf.eventusermodel.HSSFUserException;
+import org.apache.poi.hssf.eventusermodel.MissingRecordAwareHSSFListener;
+import org.apache.poi.hssf.eventusermodel.dummyrecord.LastCellOfRowDummyRecord;
+import org.apache.poi.hssf.record.BOFRecord;
+import org.apache.poi.hssf.record.BlankRecord;
+import org.apache.poi.hssf.record.BoolErrRecord;
+import org.apache.poi.hssf.record.BoundSheetRecord;
+import org.apache.poi.hssf.record.CellValueRecordInterface;
+import org.apache.poi.hssf.record.DateWindow1904Record;
+import org.apache.poi.hssf.record.EOFRecord;
+import org.apache.poi.hssf.record.FormulaRecord;
+import org.apache.poi.hssf.record.LabelRecord;
+import org.apache.poi.hssf.record.LabelSSTRecord;
+import org.apache.poi.hssf.record.NumberRecord;
+import org.apache.poi.hssf.record.Record;
+import org.apache.poi.hssf.record.SSTRecord;
+import org.apache.poi.hssf.record.StringRecord;
+import org.apache.poi.poifs.filesystem.DirectoryNode;
+import org.apache.poi.poifs.filesystem.NPOIFSFileSystem;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.javafunk.excelparser.exception.ExcelParsingException;
+
+/**
+ * Reads one worksheet of a BIFF8 .xls file with POI's event API ({@link HSSFEventFactory}
+ * behind a {@link MissingRecordAwareHSSFListener}), without ever building an
+ * {@code HSSFWorkbook}. The workbook stream is read record by record from the file and
+ * rows are handed to the consumer in sheet order as soon as their last cell has been read,
+ * so memory use does not depend on the number of rows. Reading stops at the end of the
+ * wanted sheet, or as soon as the caller is done with it, so the records after it are
+ * never read.
+ * <p>
+ * The shared strings table is kept on the heap for the whole read: POI parses it into one
+ * {@link SSTRecord} holding every string before the first worksheet is reached, so unlike
+ * the .xlsx reader this one cannot take a {@link SharedStrings} implementation.
+ */
+public class XlsSheetReader implements SheetReader {
+    private static final String[] WORKBOOK_ENTRIES = {"Workbook", "WORKBOOK"};
+    private static final short CONTINUE = 0;
+    private static final short STOP = 1;
+
+    @Override
+    public void read(File file, String sheetName, Consumer<? super StreamingRow> rowConsumer, BooleanSupplier done) {
+        NPOIFSFileSystem fileSystem = null;
+        try {
+            fileSystem = new NPOIFSFileSystem(file);
+            SheetListener listener = new SheetListener(sheetName, rowConsumer);
+            FormatTrackingHSSFListener formats = new FormatTrackingHSSFListener(new MissingRecordAwareHSSFListener(listener));
+            listener.formats = formats;
+            HSSFRequest request = new HSSFRequest();
+            request.addListenerForAllRecords(new AbortableHSSFListener() {
+                @Override
+                public short abortableProcessRecord(Record record) {
+                    formats.processRecord(record);
+                    return listener.done || done.getAsBoolean() ? STOP : CONTINUE;
+                }
+            });
+            try (InputStream workbook = openWorkbook(fileSystem.getRoot())) {
+                new HSSFEventFactory().abortableProcessEvents(request, workbook);
+            }
+            if (!listener.found) {
+                throw new ExcelParsingException("Sheet " + sheetName + " not found");
+            }
+        } catch (IOException | HSSFUserException e) {
+            throw new ExcelParsingException("Exception occurred while reading sheet " + sheetName + " from " + file.getName(), e);
+        } finally {
+            close(fileSystem);
+        }
+    }
+
+    private static InputStream openWorkbook(DirectoryNode root) throws IOException {
+        for (String entry : WORKBOOK_ENTRIES) {
+            if (root.hasEntry(entry)) {
+                return root.createDocumentInputStream(entry);
+            }
+        }
+        throw new ExcelParsingException("No BIFF8 workbook stream found; only Excel 97-2003 .xls files are supported");
+    }
+
+    private static void close(NPOIFSFileSystem fileSystem) {
+        if (fileSystem != null) {
+            try {
+                fileSystem.close();
+            } catch (IOException ignored) {
+                // read-only, nothing to lose
+            }
+        }
+    }
+
+    /**
+     * Turns the cell records of the wanted sheet into {@link StreamingRow}s. Worksheets are
+     * matched to their names through the {@link BoundSheetRecord}s, ordered by the position
+     * of their BOF, which is the order the worksheet substreams appear in. Substreams nested
+     * in a worksheet, such as embedded charts, are skipped, and the EOF closing the wanted
+     * worksheet marks the read as done.
+     */
+    private static class SheetListener implements HSSFListener {
+        private final String sheetName;
+        private final Consumer<? super StreamingRow> rowConsumer;
+        private final DataFormatter formatter = new DataFormatter();
+        private final List<BoundSheetRecord> boundSheets = new ArrayList<>();
+        private FormatTrackingHSSFListener formats;
+        private BoundSheetRecord[] orderedSheets;
+        private SSTRecord sharedStrings;
+        private int sheetIndex = -1;
+        private int depth;
+        private boolean inWantedSheet;
+        private boolean inSheet;
+        private boolean found;
+        private boolean done;
+        private boolean date1904;
+        private StreamingRow row;
+        private FormulaRecord pendingStringFormula;
+
+        SheetListener(String sheetName, Consumer<? super StreamingRow> rowConsumer) {
+            this.sheetName = sheetName;
+            this.rowConsumer = rowConsumer;
+        }
+
+        @Override
+        public void processRecord(Record record) {
+            if (record instanceof BoundSheetRecord) {
+                boundSheets.add((BoundSheetRecord) record);
+            } else if (record instanceof SSTRecord) {
+                sharedStrings = (SSTRecord) record;
+            } else if (record instanceof DateWindow1904Record) {
+                date1904 = ((DateWindow1904Record) record).getWindowing() == 1;
+            } else if (record instanceof BOFRecord) {
+                startSubstream((BOFRecord) record);
+            } else if (record instanceof EOFRecord) {
+                endSubstream();
+            } else if (!inSheet) {
+                return;
+            } else if (record instanceof LastCellOfRowDummyRecord) {
+                endRow(((LastCellOfRowDummyRecord) record).getRow());
+            } else if (record instanceof StringRecord) {
+                if (pendingStringFormula != null) {
+                    setCell(pendingStringFormula, StreamingCell.string(true, ((StringRecord) record).getString()));
+                    pendingStringFormula = null;
+                }
+            } else if (record instanceof CellValueRecordInterface) {
+                processCell((CellValueRecordInterface) record);
+            }
+        }
+
+        private void startSubstream(BOFRecord bof) {
+            depth++;
+            if (depth == 1) {
+                inWantedSheet = bof.getType() == BOFRecord.TYPE_WORKSHEET && isWanted();
+                found |= inWantedSheet;
+            }
+            inSheet = inWantedSheet && depth == 1;
+        }
+
+        private boolean isWanted() {
+            if (orderedSheets == null) {
+                orderedSheets = BoundSheetRecord.orderByBofPosition(boundSheets);
+            }
+            sheetIndex++;
+            return sheetIndex < orderedSheets.length && sheetName.equals(orderedSheets[sheetIndex].getSheetname());
+        }
+
+        private void endSubstream() {
+            depth--;
+            done |= inWantedSheet && depth == 0;
+            inSheet = inWantedSheet && depth == 1;
+        }
+
+        private void processCell(CellValueRecordInterface record) {
+            if (record instanceof NumberRecord) {
+                setCell(record, StreamingCell.numeric(false, ((NumberRecord) record).getValue(),
+                    formats.getFormatIndex(record), formats.getFormatString(record), formatter, date1904));
+            } else if (record instanceof LabelSSTRecord) {
+                setCell(record, StreamingCell.string(false, sharedStrings.getString(((LabelSSTRecord) record).getSSTIndex()).getString()));
+            } else if (record instanceof LabelRecord) {
+                setCell(record, StreamingCell.string(false, ((LabelRecord) record).getValue()));
+            } else if (record instanceof BoolErrRecord) {
+                BoolErrRecord boolErr = (BoolErrRecord) record;
+                setCell(record, boolErr.isBoolean() ? StreamingCell.bool(false, boolErr.getBooleanValue()) : StreamingCell.error(false));
+            } else if (record instanceof FormulaRecord) {
+                processFormula((FormulaRecord) record);
+            } else if (record instanceof BlankRecord) {
+                setCell(record, StreamingCell.blank(formats.getFormatIndex(record), formats.getFormatString(record), formatter));
+            }
+        }
+
+        /**
+         * Only the cached result is used; a text result follows in the next
+         * {@link StringRecord}.
+         */
+        private void processFormula(FormulaRecord formula) {
+            switch (formula.getCachedResultType()) {
+                case Cell.CELL_TYPE_NUMERIC:
+                    setCell(formula, StreamingCell.numeric(true, formula.getValue(),
+                        formats.getFormatIndex(formula), formats.getFormatString(formula), formatter, date1904));
+                    break;
+                case Cell.CELL_TYPE_STRING:
+                    pendingStringFormula = formula;
+                    break;
+                case Cell.CELL_TYPE_BOOLEAN:
+                    setCell(formula, StreamingCell.bool(true, formula.getCachedBooleanValue()));
+                    break;
+                default:
+                    setCell(formula, StreamingCell.error(true));
+                    break;
+            }
+        }
+
+        private void setCell(CellValueRecordInterface record, StreamingCell cell) {
+            int rowNum = record.getRow() + 1;
+            if (row == null || row.getRowNum() != rowNum) {
+                row = new StreamingRow(rowNum);
+            }
+            row.setCell(record.getColumn() + 1, cell);
+        }
+
+        private void endRow(int rowIndex) {
+            if (row != null && row.getRowNum() == rowIndex + 1) {
+                rowConsumer.accept(row);
+            }
+            row = null;
+        }
+    }
+}
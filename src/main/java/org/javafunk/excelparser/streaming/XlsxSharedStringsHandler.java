@@ -0,0 +1,60 @@
+package org.javafunk.excelparser.streaming;
+
+import org.xml.sax.Attributes;
+import org.xml.sax.helpers.DefaultHandler;
+
+/**
+ * SAX handler for the shared strings part ({@code xl/sharedStrings.xml}). Rich text runs
+ * are concatenated, phonetic runs are skipped.
+ */
+class XlsxSharedStringsHandler extends DefaultHandler {
+    private final SharedStrings sharedStrings;
+    private final StringBuilder value = new StringBuilder();
+    private boolean inText;
+    private boolean inPhonetic;
+
+    XlsxSharedStringsHandler(SharedStrings sharedStrings) {
+        this.sharedStrings = sharedStrings;
+    }
+
+    @Override
+    public void startElement(String uri, String localName, String qName, Attributes attributes) {
+        switch (localName) {
+            case "si":
+                value.setLength(0);
+                break;
+            case "rPh":
+                inPhonetic = true;
+                break;
+            case "t":
+                inText = !inPhonetic;
+                break;
+            default:
+                break;
+        }
+    }
+
+    @Override
+    public void endElement(String uri, String localName, String qName) {
+        switch (localName) {
+            case "si":
+                sharedStrings.add(value.toString());
+                break;
+            case "rPh":
+                inPhonetic = false;
+                break;
+            case "t":
+                inText = false;
+                break;
+            default:
+                break;
+        }
+    }
+
+    @Override
+    public void characters(char[] ch, int start, int length) {
+        if (inText) {
+            value.append(ch, start, length);
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package org.javafunk.excelparser.streaming;
+
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+import org.apache.poi.ss.usermodel.BuiltinFormats;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.xml.sax.Attributes;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.DefaultHandler;
+
+/**
+ * SAX handler for a worksheet part. Turns every {@code <row>} into a {@link StreamingRow}
+ * and hands it to the row consumer as soon as the row element is closed. Once the caller
+ * is done, parsing is stopped by throwing {@link StopParsingException}.
+ */
+class XlsxSheetHandler extends DefaultHandler {
+    private final SharedStrings sharedStrings;
+    private final DataFormatter formatter;
+    private final Consumer<? super StreamingRow> rowConsumer;
+    private final int[] formatIndexes;
+    private final String[] formatStrings;
+    private final boolean date1904;
+    private final BooleanSupplier done;
+
+    private final StringBuilder value = new StringBuilder();
+    private StreamingRow row;
+    private int lastRowNum;
+    private int col;
+    private String cellType;
+    private int styleIndex;
+    private boolean formula;
+    private boolean hasValue;
+    private boolean inValue;
+    private boolean inInlineString;
+    private boolean inPhonetic;
+
+    XlsxSheetHandler(SharedStrings sharedStrings, StylesTable styles, DataFormatter formatter, boolean date1904,
+                     Consumer<? super StreamingRow> rowConsumer, BooleanSupplier done) {
+        this.sharedStrings = sharedStrings;
+        this.formatter = formatter;
+        this.date1904 = date1904;
+        this.rowConsumer = rowConsumer;
+        this.done = done;
+
+        int styleCount = styles == null ? 0 : styles.getNumCellStyles();
+        formatIndexes = new int[styleCount];
+        formatStrings = new String[styleCount];
+        for (int i = 0; i < styleCount; i++) {
+            XSSFCellStyle style = styles.getStyleAt(i);
+            formatIndexes[i] = style.getDataFormat();
+            formatStrings[i] = style.getDataFormatString() != null
+                ? style.getDataFormatString() : BuiltinFormats.getBuiltinFormat(formatIndexes[i]);
+        }
+    }
+
+    @Override
+    public void startElement(String uri, String localName, String qName, Attributes attributes) {
+        switch (localName) {
+            case "row":
+                String r = attributes.getValue("r");
+                lastRowNum = r != null ? Integer.parseInt(r) : lastRowNum + 1;
+                row = new StreamingRow(lastRowNum);
+                col = 0;
+                break;
+            case "c":
+                String ref = attributes.getValue("r");
+                col = ref != null ? columnNumber(ref) : col + 1;
+                cellType = attributes.getValue("t");
+                String style = attributes.getValue("s");
+                styleIndex = style != null ? Integer.parseInt(style) : 0;
+                formula = false;
+                hasValue = false;
+                value.setLength(0);
+                break;
+            case "f":
+                formula = true;
+                break;
+            case "v":
+                inValue = true;
+                break;
+            case "is":
+                inInlineString = true;
+                break;
+            case "rPh":
+                inPhonetic = true;
+                break;
+            case "t":
+                inValue = inInlineString && !inPhonetic;
+                break;
+            default:
+                break;
+        }
+    }
+
+    @Override
+    public void endElement(String uri, String localName, String qName) throws SAXException {
+        switch (localName) {
+            case "row":
+                rowConsumer.accept(row);
+                row = null;
+                if (done.getAsBoolean()) {
+                    throw new StopParsingException();
+                }
+                break;
+            case "c":
+                row.setCell(col, createCell());
+                break;
+            case "v":
+                inValue = false;
+                hasValue = true;
+                break;
+            case "is":
+                inInlineString = false;
+                hasValue = true;
+                break;
+            case "rPh":
+                inPhonetic = false;
+                break;
+            case "t":
+                inValue = false;
+                break;
+            default:
+                break;
+        }
+    }
+
+    @Override
+    public void characters(char[] ch, int start, int length) {
+        if (inValue) {
+            value.append(ch, start, length);
+        }
+    }
+
+    private StreamingCell createCell() {
+        int formatIndex = styleIndex < formatIndexes.length ? formatIndexes[styleIndex] : 0;
+        String formatString = styleIndex < formatStrings.length ? formatStrings[styleIndex] : null;
+        if (!hasValue) {
+            return StreamingCell.blank(formatIndex, formatString, formatter);
+        }
+
+        String text = value.toString();
+        if (cellType == null || "n".equals(cellType)) {
+            if (text.isEmpty()) {
+                return StreamingCell.blank(formatIndex, formatString, formatter);
+            }
+            return StreamingCell.numeric(formula, Double.parseDouble(text), formatIndex, formatString, formatter, date1904);
+        }
+
+        switch (cellType) {
+            case "s":
+                return StreamingCell.string(formula, sharedStrings.get(Integer.parseInt(text.trim())));
+            case "inlineStr":
+            case "str":
+                return StreamingCell.string(formula, text);
+            case "b":
+                return StreamingCell.bool(formula, "1".equals(text) || "true".equalsIgnoreCase(text));
+            case "e":
+                return StreamingCell.error(formula);
+            default:
+                return StreamingCell.string(formula, text);
+        }
+    }
+
+    /**
+     * Thrown to stop the SAX parser once no more rows are needed; not an error.
+     */
+    static class StopParsingException extends SAXException {
+        StopParsingException() {
+            super("Stopped after the last row needed");
+        }
+    }
+
+    static int columnNumber(String cellReference) {
+        int column = 0;
+        for (int i = 0; i < cellReference.length(); i++) {
+            char c = cellReference.charAt(i);
+            if (c < 'A' || c > 'Z') {
+                break;
+            }
+            column = column * 26 + (c - 'A' + 1);
+        }
+        return column;
+    }
+}
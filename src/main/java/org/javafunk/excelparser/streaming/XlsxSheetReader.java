@@ -0,0 +1,112 @@
+package org.javafunk.excelparser.streaming;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParser;
+import javax.xml.parsers.SAXParserFactory;
+
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.javafunk.excelparser.exception.ExcelParsingException;
+import org.xml.sax.Attributes;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.DefaultHandler;
+
+/**
+ * Reads one worksheet of an .xlsx file with POI's {@link XSSFReader} and a SAX parser,
+ * without ever building an {@code XSSFWorkbook}. Rows are handed to the consumer in sheet
+ * order while the sheet XML is being parsed, so memory use does not depend on the number
+ * of rows. Parsing stops as soon as the caller is done with the sheet. Only the shared
+ * strings table, whose storage is decided by the {@link SharedStrings} supplier, and the
+ * styles table are kept for the whole read. The date system is read once from the
+ * workbook part.
+ */
+public class XlsxSheetReader implements SheetReader {
+    private final Supplier<? extends SharedStrings> sharedStrings;
+
+    public XlsxSheetReader() {
+        this(InMemorySharedStrings::new);
+    }
+
+    public XlsxSheetReader(Supplier<? extends SharedStrings> sharedStrings) {
+        this.sharedStrings = sharedStrings;
+    }
+
+    @Override
+    public void read(File file, String sheetName, Consumer<? super StreamingRow> rowConsumer, BooleanSupplier done) {
+        OPCPackage pkg = null;
+        try {
+            pkg = OPCPackage.open(file.getPath(), PackageAccess.READ);
+            XSSFReader reader = new XSSFReader(pkg);
+            try (SharedStrings strings = sharedStrings.get()) {
+                try (InputStream stringsData = reader.getSharedStringsData()) {
+                    if (stringsData != null) {
+                        parse(stringsData, new XlsxSharedStringsHandler(strings));
+                    }
+                }
+                WorkbookHandler workbook = new WorkbookHandler();
+                try (InputStream workbookData = reader.getWorkbookData()) {
+                    parse(workbookData, workbook);
+                }
+                try (InputStream sheetData = findSheet(reader, sheetName)) {
+                    parse(sheetData, new XlsxSheetHandler(strings, reader.getStylesTable(), new DataFormatter(), workbook.date1904,
+                        rowConsumer, done));
+                } catch (XlsxSheetHandler.StopParsingException stopped) {
+                    // the caller needs no more rows
+                }
+            }
+        } catch (IOException | OpenXML4JException | SAXException | ParserConfigurationException e) {
+            throw new ExcelParsingException("Exception occurred while reading sheet " + sheetName + " from " + file.getName(), e);
+        } finally {
+            if (pkg != null) {
+                pkg.revert();
+            }
+        }
+    }
+
+    private InputStream findSheet(XSSFReader reader, String sheetName) throws IOException, OpenXML4JException {
+        Iterator<InputStream> sheets = reader.getSheetsData();
+        while (sheets.hasNext()) {
+            InputStream sheetData = sheets.next();
+            if (sheetName.equals(((XSSFReader.SheetIterator) sheets).getSheetName())) {
+                return sheetData;
+            }
+            sheetData.close();
+        }
+        throw new ExcelParsingException("Sheet " + sheetName + " not found");
+    }
+
+    /**
+     * Reads the date system of the workbook from {@code <workbookPr date1904="...">}.
+     */
+    private static class WorkbookHandler extends DefaultHandler {
+        private boolean date1904;
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            if ("workbookPr".equals(localName)) {
+                String value = attributes.getValue("date1904");
+                date1904 = "1".equals(value) || "true".equalsIgnoreCase(value);
+            }
+        }
+    }
+
+    private static void parse(InputStream data, DefaultHandler handler) throws IOException, SAXException, ParserConfigurationException {
+        SAXParserFactory factory = SAXParserFactory.newInstance();
+        factory.setNamespaceAware(true);
+        factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+        SAXParser parser = factory.newSAXParser();
+        parser.parse(data, handler);
+    }
+}
@@ -0,0 +1,14 @@
+package org.javafunk.excelparser.validation;
+
+/**
+ * Check applied to an {@code ExcelField} cell after conversion. Implementations must be
+ * thread-safe: one instance serves every parse of the mapped class.
+ */
+public interface CellValidator {
+
+    /**
+     * @param value the converted field value, possibly {@code null}
+     * @param text  the cell rendered as a string, {@code ""} for an empty cell
+     */
+    boolean isValid(Object value, String text);
+}
@@ -0,0 +1,16 @@
+package org.javafunk.excelparser.validation;
+
+public class LengthValidator implements CellValidator {
+    private final int min;
+    private final int max;
+
+    public LengthValidator(int min, int max) {
+        this.min = min;
+        this.max = max;
+    }
+
+    @Override
+    public boolean isValid(Object value, String text) {
+        return text.length() >= min && text.length() <= max;
+    }
+}
@@ -0,0 +1,9 @@
+package org.javafunk.excelparser.validation;
+
+public class NotBlankValidator implements CellValidator {
+
+    @Override
+    public boolean isValid(Object value, String text) {
+        return value != null && !text.trim().isEmpty();
+    }
+}
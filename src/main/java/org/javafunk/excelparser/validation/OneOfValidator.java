@@ -0,0 +1,22 @@
+package org.javafunk.excelparser.validation;
+
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+public class OneOfValidator implements CellValidator {
+    private final Set<String> values = new HashSet<>();
+    private final boolean ignoreCase;
+
+    public OneOfValidator(String[] values, boolean ignoreCase) {
+        this.ignoreCase = ignoreCase;
+        for (String value : values) {
+            this.values.add(ignoreCase ? value.toLowerCase(Locale.ROOT) : value);
+        }
+    }
+
+    @Override
+    public boolean isValid(Object value, String text) {
+        return values.contains(ignoreCase ? text.toLowerCase(Locale.ROOT) : text);
+    }
+}
@@ -0,0 +1,23 @@
+package org.javafunk.excelparser.validation;
+
+/**
+ * Range check on {@link Number} values; other values, including {@code null}, pass.
+ */
+public class RangeValidator implements CellValidator {
+    private final double min;
+    private final double max;
+
+    public RangeValidator(double min, double max) {
+        this.min = min;
+        this.max = max;
+    }
+
+    @Override
+    public boolean isValid(Object value, String text) {
+        if (!(value instanceof Number)) {
+            return true;
+        }
+        double number = ((Number) value).doubleValue();
+        return number >= min && number <= max;
+    }
+}
@@ -0,0 +1,19 @@
+package org.javafunk.excelparser.validation;
+
+import java.util.regex.Pattern;
+
+/**
+ * {@code ExcelField.regex()} check, with the pattern compiled once.
+ */
+public class RegexValidator implements CellValidator {
+    private final Pattern pattern;
+
+    public RegexValidator(String regex) {
+        this.pattern = Pattern.compile(regex);
+    }
+
+    @Override
+    public boolean isValid(Object value, String text) {
+        return pattern.matcher(text).matches();
+    }
+}
@@ -0,0 +1,76 @@
+package org.javafunk.excelparser.validation;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.javafunk.excelparser.annotations.ExcelField;
+import org.javafunk.excelparser.annotations.Length;
+import org.javafunk.excelparser.annotations.NotBlank;
+import org.javafunk.excelparser.annotations.OneOf;
+import org.javafunk.excelparser.annotations.Range;
+import org.javafunk.excelparser.annotations.ValidateWith;
+import org.javafunk.excelparser.exception.ExcelParsingException;
+
+/**
+ * Builds the {@link CellValidator}s of an {@link ExcelField} from its annotations, once per
+ * mapped class. Validators named by {@link ValidateWith} are looked up by class: register an
+ * instance to configure one, otherwise it is created with its no-arg constructor and reused.
+ */
+public class ValidatorRegistry {
+    private final Map<Class<? extends CellValidator>, CellValidator> validators = new ConcurrentHashMap<>();
+
+    public <V extends CellValidator> ValidatorRegistry register(Class<V> type, V validator) {
+        validators.put(type, validator);
+        return this;
+    }
+
+    public CellValidator get(Class<? extends CellValidator> type) {
+        return validators.computeIfAbsent(type, ValidatorRegistry::instantiate);
+    }
+
+    /**
+     * @return the validators of {@code field} in a fixed order: the {@code ExcelField} regex
+     * when {@code validate} is set, then {@link NotBlank}, {@link Length}, {@link Range},
+     * {@link OneOf} and {@link ValidateWith}.
+     */
+    public List<CellValidator> validatorsFor(Field field, ExcelField annotation) {
+        List<CellValidator> list = new ArrayList<>();
+        if (annotation.validate()) {
+            list.add(new RegexValidator(annotation.regex()));
+        }
+        if (field.isAnnotationPresent(NotBlank.class)) {
+            list.add(new NotBlankValidator());
+        }
+        Length length = field.getAnnotation(Length.class);
+        if (length != null) {
+            list.add(new LengthValidator(length.min(), length.max()));
+        }
+        Range range = field.getAnnotation(Range.class);
+        if (range != null) {
+            list.add(new RangeValidator(range.min(), range.max()));
+        }
+        OneOf oneOf = field.getAnnotation(OneOf.class);
+        if (oneOf != null) {
+            list.add(new OneOfValidator(oneOf.value(), oneOf.ignoreCase()));
+        }
+        ValidateWith validateWith = field.getAnnotation(ValidateWith.class);
+        if (validateWith != null) {
+            for (Class<? extends CellValidator> type : validateWith.value()) {
+                list.add(get(type));
+            }
+        }
+        return list.isEmpty() ? Collections.<CellValidator>emptyList() : Collections.unmodifiableList(list);
+    }
+
+    private static CellValidator instantiate(Class<? extends CellValidator> type) {
+        try {
+            return type.newInstance();
+        } catch (InstantiationException | IllegalAccessException e) {
+            throw new ExcelParsingException("Exception occurred while instantiating the validator " + type.getName(), e);
+        }
+    }
+}
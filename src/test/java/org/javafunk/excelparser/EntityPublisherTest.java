@@ -0,0 +1,139 @@
+package org.javafunk.excelparser;
+
+import org.javafunk.excelparser.annotations.ExcelField;
+import org.javafunk.excelparser.annotations.ExcelObject;
+import org.javafunk.excelparser.annotations.ParseType;
+import org.javafunk.excelparser.exception.ExcelParsingException;
+
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.junit.Before;
+import org.junit.Test;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class EntityPublisherTest {
+    Sheet sheet;
+
+    @Before
+    public void setUp() {
+        sheet = new HSSFWorkbook().createSheet("Sheet1");
+        for (int row = 1; row <= 3; row++) {
+            sheet.createRow(row).createCell(0).setCellValue(row);
+        }
+    }
+
+    @Test
+    public void shouldEmitOnlyRequestedEntities() {
+        RecordingSubscriber<Counted> subscriber = new RecordingSubscriber<>();
+        new SheetParser().publish(sheet, Counted.class).subscribe(subscriber);
+
+        assertThat(subscriber.values.size(), is(0));
+        subscriber.subscription.request(2);
+        assertThat(subscriber.values(), is(asList(1, 2)));
+        assertThat(subscriber.completed, is(false));
+
+        subscriber.subscription.request(5);
+        assertThat(subscriber.values(), is(asList(1, 2, 3)));
+        assertThat(subscriber.completed, is(true));
+    }
+
+    @Test
+    public void shouldStopOnCancel() {
+        RecordingSubscriber<Counted> subscriber = new RecordingSubscriber<>();
+        new SheetParser().publish(sheet, Counted.class).subscribe(subscriber);
+
+        subscriber.subscription.request(1);
+        subscriber.subscription.cancel();
+        subscriber.subscription.request(2);
+
+        assertThat(subscriber.values(), is(asList(1)));
+        assertThat(subscriber.completed, is(false));
+    }
+
+    @Test
+    public void shouldSignalRethrownErrors() {
+        sheet.getRow(2).getCell(0).setCellValue("two");
+        RecordingSubscriber<Counted> subscriber = new RecordingSubscriber<>();
+        new SheetParser().publish(sheet, Counted.class).subscribe(subscriber);
+
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        assertThat(subscriber.values(), is(asList(1)));
+        assertThat(subscriber.error, is(instanceOf(ExcelParsingException.class)));
+        assertThat(subscriber.completed, is(false));
+    }
+
+    @Test
+    public void shouldRejectNonPositiveDemand() {
+        RecordingSubscriber<Counted> subscriber = new RecordingSubscriber<>();
+        new SheetParser().publish(sheet, Counted.class).subscribe(subscriber);
+
+        subscriber.subscription.request(0);
+
+        assertThat(subscriber.error, is(instanceOf(IllegalArgumentException.class)));
+        assertThat(subscriber.values.size(), is(0));
+    }
+
+    @Test
+    public void shouldCollectErrorsWithoutSignallingThem() {
+        sheet.getRow(2).getCell(0).setCellValue("two");
+        List<ExcelParsingException> errors = new ArrayList<>();
+        RecordingSubscriber<Counted> subscriber = new RecordingSubscriber<>();
+        new SheetParser().publish(sheet, Counted.class, errors::add).subscribe(subscriber);
+
+        subscriber.subscription.request(3);
+
+        assertThat(subscriber.values(), is(asList(1, null, 3)));
+        assertThat(subscriber.error, is(nullValue()));
+        assertThat(errors.size(), is(1));
+    }
+
+    @ExcelObject(parseType = ParseType.ROW, start = 2)
+    static class Counted {
+        @ExcelField(position = 1)
+        Integer count;
+    }
+
+    static class RecordingSubscriber<T extends Counted> implements Subscriber<T> {
+        Subscription subscription;
+        List<T> values = new ArrayList<>();
+        Throwable error;
+        boolean completed;
+
+        List<Integer> values() {
+            List<Integer> counts = new ArrayList<>();
+            values.forEach(value -> counts.add(value.count));
+            return counts;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(T value) {
+            values.add(value);
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            this.error = error;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+}
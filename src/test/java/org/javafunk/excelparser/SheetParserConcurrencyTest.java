@@ -0,0 +1,98 @@
+package org.javafunk.excelparser;
+
+import org.javafunk.example.domain.Section;
+import org.javafunk.example.domain.Subject;
+import org.javafunk.excelparser.annotations.ExcelField;
+import org.javafunk.excelparser.annotations.ExcelObject;
+import org.javafunk.excelparser.annotations.ParseType;
+import org.javafunk.excelparser.annotations.Range;
+import org.javafunk.excelparser.exception.ExcelInvalidCell;
+import org.javafunk.excelparser.exception.ExcelParsingException;
+
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class SheetParserConcurrencyTest {
+
+    static final int THREADS = 8;
+    static final int ITERATIONS = 50;
+
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void shouldKeepResultsOfConcurrentCallsApart() throws Exception {
+        List<String> expectedErrors = messages(new SheetParser(), openSheet("Errors.xlsx"));
+        List<Subject> expectedSubjects = new SheetParser().createEntity(openSheet("Subjects.xlsx"), Subject.class, error -> { throw error; });
+        List<Integer> expectedInvalid = invalidRows(new SheetParser().parse(openSheet("Subjects.xlsx"), LargeVolume.class, error -> { throw error; }));
+        SheetParser parser = new SheetParser();
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Future<Integer>> workers = new ArrayList<>();
+        for (int thread = 0; thread < THREADS; thread++) {
+            Sheet errors = openSheet("Errors.xlsx");
+            Sheet subjects = openSheet("Subjects.xlsx");
+            workers.add(executor.submit((Callable<Integer>) () -> {
+                start.await();
+                for (int i = 0; i < ITERATIONS; i++) {
+                    assertThat(messages(parser, errors), is(expectedErrors));
+                    assertThat(parser.createEntity(subjects, Subject.class, error -> { throw error; }), is(expectedSubjects));
+                    ParseResult<LargeVolume> volumes = parser.parse(subjects, LargeVolume.class, error -> { throw error; });
+                    assertThat(invalidRows(volumes), is(expectedInvalid));
+                }
+                return ITERATIONS;
+            }));
+        }
+        start.countDown();
+
+        for (Future<Integer> worker : workers) {
+            assertThat(worker.get(), is(ITERATIONS));
+        }
+        assertThat(expectedInvalid.isEmpty(), is(false));
+    }
+
+    private static List<String> messages(SheetParser parser, Sheet sheet) {
+        List<ExcelParsingException> errors = new ArrayList<>();
+        ParseResult<Section> result = parser.parse(sheet, Section.class, errors::add);
+        assertThat(result.getEntities().size(), is(1));
+        assertThat(result.getErrorSummary().getErrors(), is((long) errors.size()));
+        return errors.stream().map(ExcelParsingException::getMessage).collect(Collectors.toList());
+    }
+
+    private static List<Integer> invalidRows(ParseResult<?> result) {
+        return result.getInvalidCells().stream().map(ExcelInvalidCell::getColumn).collect(Collectors.toList());
+    }
+
+    private Sheet openSheet(String fileName) throws IOException {
+        try (InputStream inputStream = getClass().getClassLoader().getResourceAsStream(fileName)) {
+            return new XSSFWorkbook(inputStream).getSheet("Sheet1");
+        }
+    }
+
+    @ExcelObject(parseType = ParseType.ROW, start = 2)
+    static class LargeVolume {
+        @ExcelField(position = 3)
+        @Range(min = 100)
+        Integer volume;
+    }
+}
@@ -3,7 +3,24 @@ package org.javafunk.excelparser;
 import org.javafunk.example.domain.Section;
 import org.javafunk.example.domain.Student;
 import org.javafunk.example.domain.Subject;
+import org.javafunk.excelparser.annotations.ExcelField;
+import org.javafunk.excelparser.annotations.ExcelObject;
+import org.javafunk.excelparser.annotations.HeaderMatch;
+import org.javafunk.excelparser.annotations.MappedExcelObject;
+import org.javafunk.excelparser.annotations.ParseType;
+import org.javafunk.excelparser.exception.ExcelInvalidCellValuesException;
 import org.javafunk.excelparser.exception.ExcelParsingException;
+import org.javafunk.excelparser.helper.CellSource;
+import org.javafunk.excelparser.helper.ExcelCell;
+import org.javafunk.excelparser.helper.FormulaEvaluators;
+import org.javafunk.excelparser.helper.FormulaMode;
+import org.javafunk.excelparser.helper.SheetCellSource;
+import org.javafunk.excelparser.mapping.Accessors;
+import org.javafunk.excelparser.mapping.MappingPlan;
+import org.javafunk.excelparser.mapping.MappingPlanCache;
+import org.javafunk.excelparser.mapping.MethodHandleAccessors;
+import org.javafunk.excelparser.mapping.ReflectionAccessors;
+import org.javafunk.excelparser.metrics.ParseMetrics;
 
 import org.apache.poi.hssf.usermodel.HSSFWorkbook;
 import org.apache.poi.ss.usermodel.Sheet;
@@ -15,18 +32,25 @@ import org.junit.Test;
 import java.io.IOException;
 import java.io.InputStream;
 import java.math.BigDecimal;
+import java.sql.SQLException;
 import java.text.SimpleDateFormat;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static java.math.BigDecimal.ROUND_FLOOR;
+import static java.util.Arrays.asList;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
 
 public class SheetParserTest {
 
@@ -34,7 +58,9 @@ public class SheetParserTest {
 
     @After
     public void tearDown() throws IOException {
-        inputStream.close();
+        if (inputStream != null) {
+            inputStream.close();
+        }
     }
 
     @Test
@@ -64,6 +90,37 @@ public class SheetParserTest {
         assertThat(errors.get(2).getMessage(), is("Invalid date found in sheet Sheet1 at row 8, column 4"));
     }
 
+    @Test
+    public void shouldSampleErrorsPerFieldAndCountTheRest() throws Exception {
+        List<ExcelParsingException> errors = new ArrayList<>();
+        SheetParser parser = new SheetParser(new MappingPlanCache(), ParseMetrics.NONE, ErrorPolicy.UNLIMITED.withSamplesPerField(1));
+
+        ParseResult<Section> result = parser.parse(openSheet("Errors.xlsx"), Section.class, errors::add);
+
+        assertThat(errors.size(), is(1));
+        assertThat(errors.get(0).getMessage(), is("Invalid date found in sheet Sheet1 at row 6, column 4"));
+        ErrorSummary summary = result.getErrorSummary();
+        assertThat(summary.getErrors(), is(3L));
+        assertThat(summary.getReportedErrors(), is(1L));
+        assertThat(summary.getSuppressed(), is(2L));
+        assertThat(summary.getErrorsByField().get("Student.dateOfBirth"), is(3L));
+    }
+
+    @Test
+    public void shouldAbortOnceFailAfterErrorsAreCounted() throws Exception {
+        List<ExcelParsingException> errors = new ArrayList<>();
+        SheetParser parser = new SheetParser(new MappingPlanCache(), ParseMetrics.NONE, ErrorPolicy.UNLIMITED.withFailAfter(2));
+
+        try {
+            parser.createEntity(openSheet("Errors.xlsx"), Section.class, errors::add);
+            fail("Expected the parse to be aborted");
+        } catch (ExcelInvalidCellValuesException e) {
+            assertThat(e.getMessage(), is("Parsing aborted after 2 errors"));
+            assertThat(e.getInvalidCells().size(), is(0));
+        }
+        assertThat(errors.size(), is(2));
+    }
+
     private void performTestUsing(Sheet sheet) {
         SheetParser parser = new SheetParser();
         List<Section> entityList = parser.createEntity(sheet, Section.class, error -> { throw error; });
@@ -122,6 +179,371 @@ public class SheetParserTest {
         assertThat(lastSubject.getVolume(), is(7));
     }
 
+    @Test
+    public void shouldCreateSameEntitiesWithSinglePassIterator() throws IOException {
+        Sheet sheet = openSheet("Student Profile.xlsx");
+        SheetParser parser = new SheetParser();
+
+        List<Section> expected = parser.createEntity(sheet, Section.class, error -> { throw error; });
+        List<Section> actual = parser.createEntityWithIterator(sheet, Section.class, error -> { throw error; });
+
+        assertThat(actual, is(expected));
+    }
+
+    @Test
+    public void shouldCalculateEndWithSinglePassIterator() throws IOException {
+        Sheet sheet = openSheet("Subjects.xlsx");
+        SheetParser parser = new SheetParser();
+
+        List<Subject> expected = parser.createEntity(sheet, Subject.class, error -> { throw error; });
+        List<Subject> actual = parser.createEntityWithIterator(sheet, Subject.class, error -> { throw error; });
+
+        assertThat(actual, is(expected));
+    }
+
+    @Test
+    public void shouldCreateEntitiesLazilyFromStream() throws IOException {
+        Sheet sheet = openSheet("Subjects.xlsx");
+        SheetParser parser = new SheetParser();
+        List<Subject> subjects = parser.createEntity(sheet, Subject.class, error -> { throw error; });
+
+        List<Subject> firstTwo;
+        try (Stream<Subject> stream = parser.stream(sheet, Subject.class, error -> { throw error; })) {
+            firstTwo = stream.limit(2).collect(Collectors.toList());
+        }
+
+        assertThat(firstTwo, is(subjects.subList(0, 2)));
+    }
+
+    @Test
+    public void shouldStopIteratingOnceIteratorIsClosed() throws IOException {
+        Sheet sheet = openSheet("Subjects.xlsx");
+        SheetParser parser = new SheetParser();
+
+        CloseableIterator<Subject> iterator = parser.iterator(sheet, Subject.class, error -> { throw error; });
+        assertThat(iterator.hasNext(), is(true));
+        iterator.next();
+        iterator.close();
+
+        assertThat(iterator.hasNext(), is(false));
+    }
+
+    @Test
+    public void shouldCreateSameEntitiesInParallel() throws IOException {
+        Sheet sheet = openSheet("Subjects.xlsx");
+        SheetParser parser = new SheetParser();
+
+        List<Subject> expected = parser.createEntity(sheet, Subject.class, error -> { throw error; });
+        List<Subject> actual = parser.createEntityInParallel(sheet, Subject.class, error -> { throw error; }, 2);
+
+        assertThat(actual, is(expected));
+    }
+
+    @Test
+    public void shouldEvaluateFormulasInParallelChunks() {
+        Sheet sheet = new HSSFWorkbook().createSheet("Sheet1");
+        for (int row = 1; row <= 40; row++) {
+            sheet.createRow(row).createCell(0).setCellValue(row);
+            sheet.getRow(row).createCell(1).setCellFormula("A" + (row + 1) + "*2");
+        }
+
+        List<Doubled> rows = new SheetParser().createEntityInParallel(sheet, Doubled.class, error -> { throw error; }, 5, new ForkJoinPool(4));
+
+        assertThat(rows.size(), is(40));
+        for (Doubled row : rows) {
+            assertThat(row.doubled, is(row.base * 2));
+        }
+    }
+
+    @Test
+    public void shouldReadFormulasWithIteratorUnderEachFormulaMode() {
+        Sheet sheet = new HSSFWorkbook().createSheet("Sheet1");
+        sheet.createRow(1).createCell(0).setCellValue(3);
+        sheet.getRow(1).createCell(1).setCellFormula("A2*2");
+
+        assertThat(doubledWithIterator(FormulaMode.CACHED, null, sheet, 3), is(asList(0, 0)));
+        assertThat(doubledWithIterator(FormulaMode.EVALUATE_ONCE, null, sheet, 4), is(asList(6, 8)));
+        assertThat(doubledWithIterator(FormulaMode.FULL, null, sheet, 5), is(asList(6, 10)));
+    }
+
+    @Test
+    public void shouldKeepFormulaResultsAcrossCallsOnlyWithEvaluatorCache() {
+        Sheet sheet = new HSSFWorkbook().createSheet("Sheet1");
+        sheet.createRow(1).createCell(0).setCellValue(3);
+        sheet.getRow(1).createCell(1).setCellFormula("A2*2");
+
+        assertThat(doubledWithIterator(FormulaMode.EVALUATE_ONCE, new FormulaEvaluators(), sheet, 4), is(asList(6, 6)));
+        assertThat(doubledWithIterator(FormulaMode.FULL, new FormulaEvaluators(), sheet, 5), is(asList(6, 10)));
+    }
+
+    private List<Integer> doubledWithIterator(FormulaMode formulaMode, FormulaEvaluators evaluators, Sheet sheet, int changedBase) {
+        sheet.getRow(1).getCell(0).setCellValue(3);
+        SheetParser parser = new SheetParser(new MappingPlanCache(), ParseMetrics.NONE, ErrorPolicy.UNLIMITED, formulaMode, evaluators);
+        List<Integer> results = new ArrayList<>();
+        results.add(parser.createEntityWithIterator(sheet, Doubled.class, error -> { throw error; }).get(0).doubled);
+        sheet.getRow(1).getCell(0).setCellValue(changedBase);
+        results.add(parser.createEntityWithIterator(sheet, Doubled.class, error -> { throw error; }).get(0).doubled);
+        return results;
+    }
+
+    @Test
+    public void shouldReportParallelErrorsInRowOrder() throws IOException {
+        List<ExcelParsingException> errors = new ArrayList<>();
+        SheetParser parser = new SheetParser();
+
+        List<Student> students = parser.createEntityInParallel(openSheet("Errors.xlsx"), Student.class, errors::add, 1);
+
+        assertThat(students.size(), is(3));
+        assertThat(errors.size(), is(3));
+        assertThat(errors.get(0).getMessage(), is("Invalid date found in sheet Sheet1 at row 6, column 4"));
+        assertThat(errors.get(1).getMessage(), is("Invalid date found in sheet Sheet1 at row 7, column 4"));
+        assertThat(errors.get(2).getMessage(), is("Invalid date found in sheet Sheet1 at row 8, column 4"));
+    }
+
+    @Test
+    public void shouldApplyErrorPolicyAcrossParallelChunks() {
+        Sheet sheet = invalidCounts(100);
+        List<ExcelParsingException> errors = new ArrayList<>();
+        SheetParser parser = new SheetParser(new MappingPlanCache(), ParseMetrics.NONE, ErrorPolicy.UNLIMITED.withMaxErrors(3));
+
+        ParseResult<Doubled> result = parser.parseInParallel(sheet, Doubled.class, errors::add, 5, new ForkJoinPool(4));
+
+        assertThat(result.getEntities().size(), is(100));
+        assertThat(errors.size(), is(3));
+        assertThat(result.getErrorSummary().getErrors(), is(100L));
+        assertThat(result.getErrorSummary().getReportedErrors(), is(3L));
+    }
+
+    @Test
+    public void shouldStopParallelChunksOnceFailAfterIsReached() {
+        Sheet sheet = invalidCounts(1000);
+        List<ExcelParsingException> errors = new ArrayList<>();
+        SheetParser parser = new SheetParser(new MappingPlanCache(), ParseMetrics.NONE, ErrorPolicy.UNLIMITED.withFailAfter(5));
+
+        try {
+            parser.createEntityInParallel(sheet, Doubled.class, errors::add, 10, new ForkJoinPool(4));
+            fail("Expected the parse to be aborted");
+        } catch (ExcelParsingException e) {
+            assertThat(e.getMessage().startsWith("Parsing aborted after"), is(true));
+        }
+        assertThat(errors.size() < 20, is(true));
+    }
+
+    private Sheet invalidCounts(int rows) {
+        Sheet sheet = new HSSFWorkbook().createSheet("Sheet1");
+        for (int row = 1; row <= rows; row++) {
+            sheet.createRow(row).createCell(0).setCellValue("row " + row);
+        }
+        return sheet;
+    }
+
+    @Test
+    public void shouldParseChildBlockOncePerCall() throws IOException {
+        List<TwoSections> sections = new SheetParser().createEntity(openSheet("Student Profile.xlsx"), TwoSections.class, error -> { throw error; });
+
+        assertThat(sections.size(), is(2));
+        assertThat(sections.get(0).students.size(), is(3));
+        assertThat(sections.get(1).students, is(sameInstance(sections.get(0).students)));
+    }
+
+    @Test
+    public void shouldCopyChildBlockWhenAsked() throws IOException {
+        List<CopiedSections> sections = new SheetParser().createEntity(openSheet("Student Profile.xlsx"), CopiedSections.class, error -> { throw error; });
+
+        List<Student> first = sections.get(0).students;
+        List<Student> second = sections.get(1).students;
+        assertThat(second, is(first));
+        assertThat(second.get(0) == first.get(0), is(false));
+    }
+
+    @Test
+    public void shouldReportCyclicMapping() throws IOException {
+        List<ExcelParsingException> errors = new ArrayList<>();
+
+        List<Cyclic> entities = new SheetParser().createEntity(openSheet("Student Profile.xlsx"), Cyclic.class, errors::add);
+
+        assertThat(entities.size(), is(1));
+        assertThat(errors.size(), is(1));
+        assertThat(errors.get(0).getMessage(), is("Invalid class configuration - cyclic MappedExcelObject mapping - Cyclic -> Cyclic"));
+    }
+
+    @Test
+    public void shouldBindFieldsByHeaderName() throws IOException {
+        Sheet sheet = openSheet("Student Profile.xlsx");
+        SheetParser parser = new SheetParser();
+
+        List<Student> students = parser.createEntity(sheet, Student.class, error -> { throw error; });
+        List<HeaderStudent> byHeader = parser.createEntity(sheet, HeaderStudent.class, error -> { throw error; });
+
+        assertThat(byHeader.size(), is(3));
+        for (int i = 0; i < students.size(); i++) {
+            assertThat(byHeader.get(i).roleNumber, is(students.get(i).getRoleNumber()));
+            assertThat(byHeader.get(i).name, is(students.get(i).getName()));
+            assertThat(byHeader.get(i).totalScore, is(students.get(i).getTotalScore()));
+        }
+    }
+
+    @Test
+    public void shouldBindColumnFieldsByHeaderNameInSinglePass() throws IOException {
+        List<HeaderSection> sections = new SheetParser().createEntityWithIterator(openSheet("Student Profile.xlsx"), HeaderSection.class, error -> { throw error; });
+
+        assertThat(sections.size(), is(1));
+        assertThat(sections.get(0).year, is("IV"));
+        assertThat(sections.get(0).section, is("B"));
+    }
+
+    @Test
+    public void shouldStopAtTrailingBlankRowsAndSkipEmptyOnes() {
+        Sheet sheet = new HSSFWorkbook().createSheet("Sheet1");
+        sheet.createRow(1).createCell(0).setCellValue("A");
+        sheet.createRow(2).createCell(0).setCellValue("");
+        sheet.createRow(3).createCell(0).setCellValue("B");
+        for (int row = 4; row < 1000; row++) {
+            sheet.createRow(row).createCell(0);
+        }
+        SheetParser parser = new SheetParser();
+
+        List<String> names = parser.createEntity(sheet, Named.class, error -> { throw error; })
+            .stream().map(named -> named.name).collect(Collectors.toList());
+        List<String> streamed = parser.stream(sheet, Named.class, error -> { throw error; })
+            .map(named -> named.name).collect(Collectors.toList());
+        List<String> singlePass = parser.createEntityWithIterator(sheet, Named.class, error -> { throw error; })
+            .stream().map(named -> named.name).collect(Collectors.toList());
+
+        assertThat(names, is(asList("A", "B")));
+        assertThat(streamed, is(names));
+        assertThat(singlePass, is(names));
+    }
+
+    @Test
+    public void shouldDetectEndOnlyAsFarAsEntitiesArePulled() {
+        Sheet sheet = new HSSFWorkbook().createSheet("Sheet1");
+        for (int row = 1; row < 1000; row++) {
+            sheet.createRow(row).createCell(0).setCellValue("name " + row);
+        }
+        SheetCellSource source = new SheetCellSource(sheet);
+        int[] furthestRow = {0};
+        CellSource cells = new CellSource() {
+            @Override
+            public String getSheetName() {
+                return source.getSheetName();
+            }
+
+            @Override
+            public ExcelCell getCell(int row, int col) {
+                furthestRow[0] = Math.max(furthestRow[0], row);
+                return source.getCell(row, col);
+            }
+
+            @Override
+            public int getLastRowNum() {
+                return source.getLastRowNum();
+            }
+
+            @Override
+            public int getLastCellNum(int row) {
+                return source.getLastCellNum(row);
+            }
+        };
+
+        EntityIterator<Named> entities = new EntityIterator<>(new SheetParser(), cells, MappingPlan.compile(Named.class), 2,
+            cells.getLastRowNum(), new ErrorCollector(ErrorPolicy.UNLIMITED, error -> { throw error; }));
+
+        assertThat(entities.next().name, is("name 1"));
+        assertThat(entities.next().name, is("name 2"));
+        assertThat(furthestRow[0], is(3));
+    }
+
+    @Test
+    public void shouldShareEqualValuesOfDedupedFields() {
+        Sheet sheet = new HSSFWorkbook().createSheet("Sheet1");
+        for (int row = 1; row <= 3; row++) {
+            sheet.createRow(row).createCell(0).setCellValue(" EUR ");
+            sheet.getRow(row).createCell(1).setCellValue(" EUR ");
+        }
+
+        List<Priced> prices = new SheetParser().createEntity(sheet, Priced.class, error -> { throw error; });
+
+        assertThat(prices.size(), is(3));
+        assertThat(prices.get(2).currency, is(sameInstance(prices.get(0).currency)));
+        assertThat(prices.get(2).note == prices.get(0).note, is(false));
+    }
+
+    @Test
+    public void shouldSetPrimitiveFieldsWithBothAccessors() {
+        Sheet sheet = new HSSFWorkbook().createSheet("Sheet1");
+        sheet.createRow(1).createCell(0).setCellValue(7);
+        sheet.getRow(1).createCell(1).setCellValue(2001);
+        sheet.getRow(1).createCell(2).setCellValue(450.35);
+        sheet.createRow(2).createCell(0).setCellValue(8);
+
+        for (Accessors accessors : asList(new MethodHandleAccessors(), new ReflectionAccessors())) {
+            SheetParser parser = new SheetParser(new MappingPlanCache(MappingPlanCache.DEFAULT_MAX_SIZE, accessors));
+            List<Measured> rows = parser.createEntity(sheet, Measured.class, error -> { throw error; });
+
+            assertThat(rows.get(0).count, is(7));
+            assertThat(rows.get(0).total, is(2001L));
+            assertThat(rows.get(0).score, is(450.35));
+            assertThat(rows.get(1).total, is(0L));
+        }
+    }
+
+    @Test
+    public void shouldLoadReusableBatchesIntoSink() {
+        Sheet sheet = measuredSheet(5);
+        List<Integer> sizes = new ArrayList<>();
+        List<Integer> counts = new ArrayList<>();
+        List<List<Measured>> batches = new ArrayList<>();
+
+        int loaded = new SheetParser().parseInto(sheet, Measured.class, batch -> {
+            sizes.add(batch.size());
+            batch.forEach(measured -> counts.add(measured.count));
+            batches.add(batch);
+        }, 2);
+
+        assertThat(loaded, is(5));
+        assertThat(sizes, is(asList(2, 2, 1)));
+        assertThat(counts, is(asList(1, 2, 3, 4, 5)));
+        assertThat(batches.get(2), is(sameInstance(batches.get(0))));
+    }
+
+    @Test
+    public void shouldLoadBatchesOnConsumerThread() {
+        Sheet sheet = measuredSheet(7);
+        List<Integer> counts = new ArrayList<>();
+        List<String> threads = new ArrayList<>();
+
+        int loaded = new SheetParser().parseInto(sheet, Measured.class, batch -> {
+            threads.add(Thread.currentThread().getName());
+            batch.forEach(measured -> counts.add(measured.count));
+        }, 3, error -> { throw error; }, 1);
+
+        assertThat(loaded, is(7));
+        assertThat(counts, is(asList(1, 2, 3, 4, 5, 6, 7)));
+        assertThat(threads, is(asList("excel-parser-batch-sink", "excel-parser-batch-sink", "excel-parser-batch-sink")));
+    }
+
+    @Test
+    public void shouldRethrowSinkFailureOnParsingThread() {
+        Sheet sheet = measuredSheet(7);
+        try {
+            new SheetParser().parseInto(sheet, Measured.class, batch -> {
+                throw new SQLException("constraint violated");
+            }, 2, error -> { throw error; }, 2);
+            fail("Expected the sink failure");
+        } catch (ExcelParsingException e) {
+            assertThat(e.getCause().getMessage(), is("constraint violated"));
+        }
+    }
+
+    private Sheet measuredSheet(int rows) {
+        Sheet sheet = new HSSFWorkbook().createSheet("Sheet1");
+        for (int row = 1; row <= rows; row++) {
+            sheet.createRow(row).createCell(0).setCellValue(row);
+        }
+        return sheet;
+    }
+
     private Sheet openSheet(String fileName) throws IOException {
         inputStream = getClass().getClassLoader().getResourceAsStream(fileName);
         Workbook workbook;
@@ -132,4 +554,88 @@ public class SheetParserTest {
         }
         return workbook.getSheet("Sheet1");
     }
+
+    @ExcelObject(parseType = ParseType.COLUMN, start = 2, end = 3)
+    static class TwoSections {
+        @ExcelField(position = 2)
+        String year;
+
+        @MappedExcelObject
+        List<Student> students;
+    }
+
+    @ExcelObject(parseType = ParseType.COLUMN, start = 2, end = 3)
+    static class CopiedSections {
+        @ExcelField(position = 2)
+        String year;
+
+        @MappedExcelObject(copy = true)
+        List<Student> students;
+    }
+
+    @ExcelObject(parseType = ParseType.ROW, start = 6, end = 6)
+    static class Cyclic {
+        @ExcelField(position = 3)
+        String name;
+
+        @MappedExcelObject
+        List<Cyclic> children;
+    }
+
+    @ExcelObject(parseType = ParseType.ROW, start = 6, end = 8, headerMatch = HeaderMatch.FUZZY)
+    static class HeaderStudent {
+        @ExcelField(header = "total_score")
+        BigDecimal totalScore;
+
+        @ExcelField(header = "role no")
+        Long roleNumber;
+
+        @ExcelField(header = "STUDENT NAME")
+        String name;
+    }
+
+    @ExcelObject(parseType = ParseType.COLUMN, start = 2, end = 2, headerMatch = HeaderMatch.IGNORE_CASE)
+    static class HeaderSection {
+        @ExcelField(header = "year")
+        String year;
+
+        @ExcelField(header = "SECTION")
+        String section;
+    }
+
+    @ExcelObject(parseType = ParseType.ROW, start = 2, endAfterBlanks = 3, ignoreAllZerosOrNullRows = true)
+    static class Named {
+        @ExcelField(position = 1)
+        String name;
+    }
+
+    @ExcelObject(parseType = ParseType.ROW, start = 2)
+    static class Priced {
+        @ExcelField(position = 1, dedupe = true)
+        String currency;
+
+        @ExcelField(position = 2)
+        String note;
+    }
+
+    @ExcelObject(parseType = ParseType.ROW, start = 2)
+    static class Doubled {
+        @ExcelField(position = 1)
+        Integer base;
+
+        @ExcelField(position = 2)
+        Integer doubled;
+    }
+
+    @ExcelObject(parseType = ParseType.ROW, start = 2)
+    static class Measured {
+        @ExcelField(position = 1)
+        int count;
+
+        @ExcelField(position = 2)
+        long total;
+
+        @ExcelField(position = 3)
+        double score;
+    }
 }
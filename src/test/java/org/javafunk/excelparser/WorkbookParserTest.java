@@ -0,0 +1,86 @@
+package org.javafunk.excelparser;
+
+import org.javafunk.example.domain.Section;
+import org.javafunk.example.domain.Subject;
+import org.javafunk.excelparser.exception.ExcelParsingException;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.File;
+import java.net.URISyntaxException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class WorkbookParserTest {
+
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void shouldParseWorkbooksConcurrently() throws Exception {
+        File xls = resource("Student Profile.xls");
+        File xlsx = resource("Student Profile.xlsx");
+        SheetBinding<Section> sections = SheetBinding.of("Sheet1", Section.class);
+
+        WorkbookParseResult result = new WorkbookParser(executor).parse(Arrays.asList(xls, xlsx), Collections.singletonList(sections));
+
+        assertThat(result.hasErrors(), is(false));
+        assertThat(result.getSheetResults().size(), is(2));
+        assertThat(result.getEntities(Section.class).size(), is(2));
+        assertThat(result.getSheetResult(xlsx, sections).getEntities().get(0).getStudents().size(), is(3));
+    }
+
+    @Test
+    public void shouldKeepResultsAndErrorsPerSheet() throws Exception {
+        File errors = resource("Errors.xlsx");
+        File subjects = resource("Subjects.xlsx");
+        Map<File, List<SheetBinding<?>>> workbooks = new LinkedHashMap<>();
+        workbooks.put(errors, Arrays.<SheetBinding<?>>asList(SheetBinding.of("Sheet1", Section.class), SheetBinding.of("Missing", Section.class)));
+        workbooks.put(subjects, Collections.<SheetBinding<?>>singletonList(SheetBinding.of("Sheet1", Subject.class)));
+
+        WorkbookParseResult result = new WorkbookParser(executor).parse(workbooks);
+
+        List<SheetResult<?>> sheetResults = result.getSheetResults();
+        assertThat(sheetResults.size(), is(3));
+        assertThat(sheetResults.get(0).getErrors().size(), is(3));
+        assertThat(sheetResults.get(1).getErrors().get(0).getMessage(), is("Sheet Missing not found in Errors.xlsx"));
+        assertThat(sheetResults.get(2).hasErrors(), is(false));
+        assertThat(result.getEntities(Subject.class).isEmpty(), is(false));
+    }
+
+    @Test
+    public void shouldFailOnlyTheSheetWhoseBindingCannotBeParsed() throws Exception {
+        File xlsx = resource("Student Profile.xlsx");
+        SheetBinding<Unannotated> unannotated = SheetBinding.of("Sheet1", Unannotated.class);
+        SheetBinding<Section> sections = SheetBinding.of("Sheet1", Section.class);
+
+        WorkbookParseResult result = new WorkbookParser(executor).parse(Collections.singletonList(xlsx),
+            Arrays.<SheetBinding<?>>asList(unannotated, sections));
+
+        List<ExcelParsingException> errors = result.getSheetResult(xlsx, unannotated).getErrors();
+        assertThat(errors.get(0).getMessage(), is("Invalid class configuration - ExcelObject annotation missing - Unannotated"));
+        assertThat(errors.get(errors.size() - 1).getMessage(), is("Exception occurred while parsing sheet Sheet1 of Student Profile.xlsx"));
+        assertThat(result.getSheetResult(xlsx, sections).hasErrors(), is(false));
+        assertThat(result.getEntities(Section.class).size(), is(1));
+    }
+
+    public static class Unannotated {
+    }
+
+    private File resource(String fileName) throws URISyntaxException {
+        return new File(getClass().getClassLoader().getResource(fileName).toURI());
+    }
+}
@@ -0,0 +1,79 @@
+package org.javafunk.excelparser;
+
+import org.javafunk.example.domain.Section;
+import org.javafunk.excelparser.annotations.ExcelField;
+import org.javafunk.excelparser.annotations.ExcelObject;
+import org.javafunk.excelparser.annotations.ParseType;
+import org.javafunk.excelparser.exception.ExcelParsingException;
+
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class XlsStreamingParserTest {
+
+    @Test
+    public void shouldStreamSameEntitiesAsSheetParser() throws IOException {
+        List<Section> expected = new SheetParser().createEntity(openSheet("Student Profile.xls"), Section.class, error -> { throw error; });
+
+        List<Section> actual = new ArrayList<>();
+        try (InputStream inputStream = getClass().getClassLoader().getResourceAsStream("Student Profile.xls")) {
+            new XlsStreamingParser().parse(inputStream, "Sheet1", Section.class, actual::add, error -> { throw error; });
+        }
+
+        assertThat(actual, is(expected));
+    }
+
+    @Test(expected = ExcelParsingException.class)
+    public void shouldRejectMissingSheet() throws IOException {
+        try (InputStream inputStream = getClass().getClassLoader().getResourceAsStream("Student Profile.xls")) {
+            new XlsStreamingParser().parse(inputStream, "Missing", Section.class, section -> { }, error -> { throw error; });
+        }
+    }
+
+    @Test
+    public void shouldReadOnlyTheWantedSheet() throws IOException {
+        HSSFWorkbook workbook = new HSSFWorkbook();
+        for (String name : asList("First", "Second")) {
+            Sheet sheet = workbook.createSheet(name);
+            for (int row = 1; row <= 2; row++) {
+                sheet.createRow(row).createCell(0).setCellValue(name + " " + row);
+            }
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        workbook.write(bytes);
+
+        assertThat(names(bytes.toByteArray(), "First"), is(asList("First 1", "First 2")));
+        assertThat(names(bytes.toByteArray(), "Second"), is(asList("Second 1", "Second 2")));
+    }
+
+    private List<String> names(byte[] workbook, String sheetName) {
+        List<String> names = new ArrayList<>();
+        new XlsStreamingParser().parse(new ByteArrayInputStream(workbook), sheetName, Named.class, named -> names.add(named.name),
+            error -> { throw error; });
+        return names;
+    }
+
+    private Sheet openSheet(String fileName) throws IOException {
+        try (InputStream inputStream = getClass().getClassLoader().getResourceAsStream(fileName)) {
+            return new HSSFWorkbook(inputStream).getSheet("Sheet1");
+        }
+    }
+
+    @ExcelObject(parseType = ParseType.ROW, start = 2)
+    static class Named {
+        @ExcelField(position = 1)
+        String name;
+    }
+}
@@ -0,0 +1,116 @@
+package org.javafunk.excelparser;
+
+import org.javafunk.example.domain.Section;
+import org.javafunk.example.domain.Subject;
+import org.javafunk.excelparser.annotations.ExcelField;
+import org.javafunk.excelparser.annotations.ExcelObject;
+import org.javafunk.excelparser.annotations.ParseType;
+import org.javafunk.excelparser.exception.ExcelParsingException;
+import org.javafunk.excelparser.streaming.FileBackedSharedStrings;
+import org.javafunk.excelparser.streaming.MappedSharedStrings;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class XlsxStreamingParserTest {
+
+    @Test
+    public void shouldStreamSameEntitiesAsSheetParser() throws IOException {
+        List<Section> expected = new SheetParser().createEntity(openSheet("Student Profile.xlsx"), Section.class, error -> { throw error; });
+
+        List<Section> actual = stream(new XlsxStreamingParser(), "Student Profile.xlsx", Section.class, error -> { throw error; });
+
+        assertThat(actual, is(expected));
+    }
+
+    @Test
+    public void shouldStreamRowEntitiesWithOpenEnd() throws IOException {
+        List<Subject> expected = new SheetParser().createEntity(openSheet("Subjects.xlsx"), Subject.class, error -> { throw error; });
+
+        List<Subject> actual = stream(new XlsxStreamingParser(FileBackedSharedStrings::new), "Subjects.xlsx", Subject.class, error -> { throw error; });
+
+        assertThat(actual, is(expected));
+    }
+
+    @Test
+    public void shouldStreamWithMappedSharedStrings() throws IOException {
+        List<Subject> expected = new SheetParser().createEntity(openSheet("Subjects.xlsx"), Subject.class, error -> { throw error; });
+
+        List<Subject> actual = stream(new XlsxStreamingParser(() -> new MappedSharedStrings(2)), "Subjects.xlsx", Subject.class, error -> { throw error; });
+
+        assertThat(actual, is(expected));
+    }
+
+    @Test
+    public void shouldReportSameErrorsAsSheetParser() throws IOException {
+        List<ExcelParsingException> expected = new ArrayList<>();
+        new SheetParser().createEntity(openSheet("Errors.xlsx"), Section.class, expected::add);
+
+        List<ExcelParsingException> actual = new ArrayList<>();
+        stream(new XlsxStreamingParser(), "Errors.xlsx", Section.class, actual::add);
+
+        assertThat(messages(actual), is(messages(expected)));
+    }
+
+    @Test
+    public void shouldReadDatesOfThe1904DateSystem() throws IOException {
+        XSSFWorkbook workbook = new XSSFWorkbook();
+        workbook.getCTWorkbook().getWorkbookPr().setDate1904(true);
+        CellStyle dateStyle = workbook.createCellStyle();
+        dateStyle.setDataFormat(workbook.createDataFormat().getFormat("yyyy-mm-dd"));
+        Cell cell = workbook.createSheet("Sheet1").createRow(1).createCell(0);
+        cell.setCellValue(1);
+        cell.setCellStyle(dateStyle);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        workbook.write(bytes);
+
+        List<Dated> actual = new ArrayList<>();
+        new XlsxStreamingParser().parse(new ByteArrayInputStream(bytes.toByteArray()), "Sheet1", Dated.class, actual::add,
+            error -> { throw error; });
+
+        assertThat(actual.size(), is(1));
+        assertThat(actual.get(0).day, is(LocalDate.of(1904, 1, 2)));
+        assertThat(new SheetParser().createEntity(workbook.getSheet("Sheet1"), Dated.class, error -> { throw error; })
+            .get(0).day, is(actual.get(0).day));
+    }
+
+    private <T> List<T> stream(XlsxStreamingParser parser, String fileName, Class<T> clazz, Consumer<ExcelParsingException> errorHandler) throws IOException {
+        List<T> entities = new ArrayList<>();
+        try (InputStream inputStream = getClass().getClassLoader().getResourceAsStream(fileName)) {
+            parser.parse(inputStream, "Sheet1", clazz, entities::add, errorHandler);
+        }
+        return entities;
+    }
+
+    private List<String> messages(List<ExcelParsingException> errors) {
+        return errors.stream().map(Throwable::getMessage).collect(Collectors.toList());
+    }
+
+    private Sheet openSheet(String fileName) throws IOException {
+        try (InputStream inputStream = getClass().getClassLoader().getResourceAsStream(fileName)) {
+            return new XSSFWorkbook(inputStream).getSheet("Sheet1");
+        }
+    }
+
+    @ExcelObject(parseType = ParseType.ROW, start = 2)
+    static class Dated {
+        @ExcelField(position = 1)
+        LocalDate day;
+    }
+}
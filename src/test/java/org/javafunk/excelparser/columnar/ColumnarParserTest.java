@@ -0,0 +1,135 @@
+package org.javafunk.excelparser.columnar;
+
+import org.javafunk.example.domain.Student;
+import org.javafunk.example.domain.Subject;
+import org.javafunk.excelparser.SheetParser;
+import org.javafunk.excelparser.annotations.ExcelField;
+import org.javafunk.excelparser.annotations.ExcelObject;
+import org.javafunk.excelparser.annotations.ParseType;
+import org.javafunk.excelparser.exception.ExcelParsingException;
+
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class ColumnarParserTest {
+
+    InputStream inputStream;
+
+    @After
+    public void tearDown() throws IOException {
+        if (inputStream != null) {
+            inputStream.close();
+        }
+    }
+
+    @Test
+    public void shouldParseSameValuesAsSheetParser() throws IOException {
+        Sheet sheet = openSheet("Subjects.xlsx");
+        List<Subject> subjects = new SheetParser().createEntity(sheet, Subject.class, error -> { throw error; });
+
+        ColumnarResult result = new ColumnarParser().parse(sheet, Subject.class, error -> { throw error; });
+
+        assertThat(result.size(), is(subjects.size()));
+        StringColumn codes = result.getStringColumn("code");
+        IntColumn volumes = result.getIntColumn("volume");
+        for (int i = 0; i < subjects.size(); i++) {
+            assertThat(codes.get(i), is(subjects.get(i).getCode()));
+            assertThat(volumes.isNull(i), is(subjects.get(i).getVolume() == null));
+            if (!volumes.isNull(i)) {
+                assertThat(volumes.get(i), is(subjects.get(i).getVolume()));
+            }
+        }
+    }
+
+    @Test
+    public void shouldParseNumbersDatesAndNullsIntoColumns() throws IOException {
+        List<ExcelParsingException> errors = new ArrayList<>();
+
+        ColumnarResult result = new ColumnarParser().parse(openSheet("Student Profile.xlsx"), Student.class, errors::add);
+
+        assertThat(errors.isEmpty(), is(true));
+        assertThat(result.size(), is(3));
+        assertThat(result.getLongColumn("roleNumber").get(0), is(2001L));
+        assertThat(result.getStringColumn("name").get(1), is("Even"));
+        assertThat(result.getDecimalColumn("totalScore").isNull(0), is(true));
+        assertThat(result.getDecimalColumn("totalScore").get(1), is(new BigDecimal("450.35")));
+        assertThat(result.getLongColumn("admissionDate").get(0),
+            is(LocalDate.of(2002, 10, 10).atStartOfDay().toInstant(ZoneOffset.UTC).toEpochMilli()));
+        assertThat(result.getLongColumn("admissionDateTime").get(1),
+            is(LocalDateTime.of(2002, 10, 11, 10, 0, 0).toInstant(ZoneOffset.UTC).toEpochMilli()));
+    }
+
+    @Test
+    public void shouldKeepDecimalsExactly() throws IOException {
+        Sheet sheet = openSheet("Student Profile.xlsx");
+        List<Student> students = new SheetParser().createEntity(sheet, Student.class, error -> { throw error; });
+
+        DecimalColumn scores = new ColumnarParser().parse(sheet, Student.class, error -> { throw error; }).getDecimalColumn("totalScore");
+
+        for (int i = 0; i < students.size(); i++) {
+            assertThat(scores.get(i), is(students.get(i).getTotalScore()));
+        }
+    }
+
+    @Test
+    public void shouldKeepEachDistinctStringOnce() throws IOException {
+        ColumnarResult result = new ColumnarParser().parse(openSheet("Student Profile.xlsx"), Student.class, error -> { throw error; });
+
+        StringColumn motherNames = result.getStringColumn("motherName");
+
+        assertThat(motherNames.getDictionary().size() <= motherNames.size(), is(true));
+        for (int i = 0; i < motherNames.size(); i++) {
+            assertThat(motherNames.getDictionary().get(motherNames.getCode(i)), is(motherNames.get(i)));
+        }
+    }
+
+    @Test
+    public void shouldReadDatesOfThe1904DateSystem() {
+        XSSFWorkbook workbook = new XSSFWorkbook();
+        workbook.getCTWorkbook().getWorkbookPr().setDate1904(true);
+        CellStyle dateStyle = workbook.createCellStyle();
+        dateStyle.setDataFormat(workbook.createDataFormat().getFormat("yyyy-mm-dd hh:mm"));
+        Row row = workbook.createSheet("Sheet1").createRow(1);
+        for (int col = 0; col < 2; col++) {
+            row.createCell(col).setCellValue(1.5);
+            row.getCell(col).setCellStyle(dateStyle);
+        }
+
+        ColumnarResult result = new ColumnarParser().parse(workbook.getSheet("Sheet1"), Dated.class, error -> { throw error; });
+
+        assertThat(result.getLongColumn("day").get(0),
+            is(LocalDate.of(1904, 1, 2).atStartOfDay().toInstant(ZoneOffset.UTC).toEpochMilli()));
+        assertThat(result.getLongColumn("time").get(0),
+            is(LocalDateTime.of(1904, 1, 2, 12, 0).toInstant(ZoneOffset.UTC).toEpochMilli()));
+    }
+
+    @ExcelObject(parseType = ParseType.ROW, start = 2)
+    static class Dated {
+        @ExcelField(position = 1)
+        LocalDate day;
+
+        @ExcelField(position = 2)
+        LocalDateTime time;
+    }
+
+    private Sheet openSheet(String fileName) throws IOException {
+        inputStream = getClass().getClassLoader().getResourceAsStream(fileName);
+        return new XSSFWorkbook(inputStream).getSheet("Sheet1");
+    }
+}
@@ -0,0 +1,107 @@
+package org.javafunk.excelparser.helper;
+
+import org.javafunk.excelparser.annotations.ExcelField;
+import org.javafunk.excelparser.annotations.ExcelObject;
+import org.javafunk.excelparser.annotations.ParseType;
+import org.javafunk.excelparser.exception.ExcelParsingException;
+import org.javafunk.excelparser.mapping.MappingPlan;
+import org.javafunk.excelparser.mapping.MethodHandleAccessors;
+import org.javafunk.excelparser.streaming.StreamingCell;
+import org.javafunk.excelparser.validation.ValidatorRegistry;
+import org.junit.Test;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class CellConvertersTest {
+    private final Consumer<ExcelParsingException> rethrow = error -> { throw error; };
+    private final CellConverters converters = new CellConverters();
+
+    @Test
+    public void shouldConvertEnumsByNameIgnoringCase() {
+        CellConverter<Level> converter = converters.get(Level.class);
+
+        assertThat(converter.convert(StreamingCell.string(false, "high"), "Sheet1", 2, 3, false, rethrow), is(Level.HIGH));
+        assertThat(converters.get(Level.class), is(sameInstance(converter)));
+    }
+
+    @Test
+    public void shouldReportUnknownEnumConstant() {
+        List<ExcelParsingException> errors = new ArrayList<>();
+
+        Level level = converters.get(Level.class).convert(StreamingCell.string(false, "Medium"), "Sheet1", 2, 3, false, errors::add);
+
+        assertThat(level, is(nullValue()));
+        assertThat(errors.get(0).getMessage(), is("Invalid Level found in sheet Sheet1 at row 2, column 3"));
+    }
+
+    @Test
+    public void shouldConvertBooleansAndUuids() {
+        UUID uuid = UUID.randomUUID();
+
+        assertThat(converters.get(Boolean.class).convert(StreamingCell.bool(false, true), "Sheet1", 2, 3, false, rethrow), is(true));
+        assertThat(converters.get(Boolean.class).convert(StreamingCell.string(false, "FALSE"), "Sheet1", 2, 3, false, rethrow), is(false));
+        assertThat(converters.get(UUID.class).convert(StreamingCell.string(false, uuid.toString()), "Sheet1", 2, 3, false, rethrow), is(uuid));
+    }
+
+    @Test
+    public void shouldReadPrimitivesAsZeroWhenBlankOrInvalid() {
+        List<ExcelParsingException> errors = new ArrayList<>();
+
+        assertThat(CellConverters.toInt(StreamingCell.numeric(false, 42, 0, "General", null), "Sheet1", 2, 3, rethrow), is(42));
+        assertThat(CellConverters.toLong(StreamingCell.blank(0, "General", null), "Sheet1", 2, 3, rethrow), is(0L));
+        assertThat(CellConverters.toDouble(StreamingCell.string(false, "abc"), "Sheet1", 2, 3, errors::add), is(0.0));
+        assertThat(errors.size(), is(1));
+    }
+
+    @Test
+    public void shouldParseIsoTextForTimeConverters() {
+        StreamingCell cell = StreamingCell.string(false, "2002-10-10T09:00:00+01:00");
+
+        OffsetDateTime dateTime = CellConverters.offsetDateTime(ZoneOffset.UTC).convert(cell, "Sheet1", 2, 3, false, rethrow);
+        Instant instant = CellConverters.instant(ZoneOffset.UTC).convert(cell, "Sheet1", 2, 3, false, rethrow);
+
+        assertThat(dateTime, is(OffsetDateTime.of(2002, 10, 10, 9, 0, 0, 0, ZoneOffset.ofHours(1))));
+        assertThat(instant, is(dateTime.toInstant()));
+    }
+
+    @Test
+    public void shouldResolveRegisteredConverterOncePerField() {
+        CellConverter<Instant> instants = CellConverters.instant(ZoneOffset.UTC);
+        converters.register(Instant.class, instants);
+
+        MappingPlan<Event> plan = MappingPlan.compile(Event.class, new MethodHandleAccessors(), new ValidatorRegistry(), converters);
+
+        assertThat(plan.getFields().get(0).getConverter(), is(sameInstance((Object) instants)));
+    }
+
+    @Test
+    public void shouldReportUnsupportedTypeForEveryCell() {
+        List<ExcelParsingException> errors = new ArrayList<>();
+        MappingPlan<Event> plan = MappingPlan.compile(Event.class);
+
+        plan.getFields().get(0).convert(StreamingCell.string(false, "x"), "Sheet1", 2, 1, false, errors::add);
+
+        assertThat(errors.get(0).getMessage(), is("java.time.Instant data type not supported for parsing"));
+    }
+
+    enum Level {
+        LOW, HIGH
+    }
+
+    @ExcelObject(parseType = ParseType.ROW, start = 2)
+    static class Event {
+        @ExcelField(position = 1)
+        Instant at;
+    }
+}
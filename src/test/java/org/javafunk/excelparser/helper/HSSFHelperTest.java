@@ -10,6 +10,8 @@ import org.junit.Test;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Date;
 import java.util.function.Consumer;
 
@@ -80,4 +82,14 @@ public class HSSFHelperTest {
         assertThat(HSSFHelper.getDoubleCell(HSSFHelper.getCell(sheet, 8, 8), false, new Locator(sheetName, 8, 8), e -> { throw e; }), is(300d));
     }
 
+    @Test
+    public void testShouldConvertSerialDatesLikePoi() {
+        assertThat(HSSFHelper.toLocalDate(1, false), is(LocalDate.of(1900, 1, 1)));
+        assertThat(HSSFHelper.toLocalDate(60, false), is(LocalDate.of(1900, 3, 1)));
+        assertThat(HSSFHelper.toLocalDate(61, false), is(LocalDate.of(1900, 3, 1)));
+        assertThat(HSSFHelper.toLocalDate(0, true), is(LocalDate.of(1904, 1, 1)));
+        assertThat(HSSFHelper.toLocalDateTime(25569.5, false), is(LocalDateTime.of(1970, 1, 1, 12, 0)));
+        assertThat(HSSFHelper.toLocalDate(-1, false), is(nullValue()));
+    }
+
 }
@@ -0,0 +1,79 @@
+package org.javafunk.excelparser.helper;
+
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.FormulaEvaluator;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class SheetCellSourceTest {
+    Workbook workbook;
+    Sheet sheet;
+    Cell input;
+
+    @Before
+    public void setUp() {
+        workbook = new HSSFWorkbook();
+        sheet = workbook.createSheet("Sheet1");
+        Row row = sheet.createRow(0);
+        input = row.createCell(0);
+        input.setCellValue(2);
+        row.createCell(1).setCellFormula("A1*3");
+    }
+
+    @Test
+    public void shouldOnlyReadCachedResults() {
+        ExcelCell formula = new SheetCellSource(sheet, FormulaMode.CACHED, new FormulaEvaluators()).getCell(1, 2);
+
+        assertThat(formula.getFormattedValue(), is("0"));
+        assertThat(formula.getNumericCellValue(), is(0.0));
+    }
+
+    @Test
+    public void shouldEvaluateFormulaTextOncePerWorkbook() {
+        FormulaEvaluators evaluators = new FormulaEvaluators();
+
+        assertThat(new SheetCellSource(sheet, FormulaMode.EVALUATE_ONCE, evaluators).getCell(1, 2).getFormattedValue(), is("6"));
+        input.setCellValue(5);
+
+        assertThat(new SheetCellSource(sheet, FormulaMode.EVALUATE_ONCE, evaluators).getCell(1, 2).getFormattedValue(), is("6"));
+        assertThat(evaluators.get(workbook), is(sameInstance(evaluators.get(workbook))));
+    }
+
+    @Test
+    public void shouldEvaluateFormulaTextPerSourceWithoutCache() {
+        assertThat(new SheetCellSource(sheet, FormulaMode.EVALUATE_ONCE).getCell(1, 2).getFormattedValue(), is("6"));
+        input.setCellValue(5);
+
+        assertThat(new SheetCellSource(sheet, FormulaMode.EVALUATE_ONCE).getCell(1, 2).getFormattedValue(), is("15"));
+    }
+
+    @Test
+    public void shouldCreateNewEvaluatorAfterRelease() {
+        FormulaEvaluators evaluators = new FormulaEvaluators();
+        FormulaEvaluator released = evaluators.get(workbook);
+
+        evaluators.release(workbook);
+
+        assertThat(evaluators.get(workbook), is(not(sameInstance(released))));
+    }
+
+    @Test
+    public void shouldRecomputeValuesAfterRefresh() {
+        FormulaEvaluators evaluators = new FormulaEvaluators();
+
+        assertThat(new SheetCellSource(sheet, FormulaMode.FULL, evaluators).getCell(1, 2).getNumericCellValue(), is(6.0));
+        input.setCellValue(5);
+        evaluators.refresh(workbook);
+
+        assertThat(new SheetCellSource(sheet, FormulaMode.FULL, evaluators).getCell(1, 2).getNumericCellValue(), is(15.0));
+    }
+}
@@ -0,0 +1,240 @@
+package org.javafunk.excelparser.mapping;
+
+import org.javafunk.example.domain.Section;
+import org.javafunk.example.domain.Student;
+import org.javafunk.example.domain.Subject;
+import org.javafunk.excelparser.annotations.ExcelField;
+import org.javafunk.excelparser.annotations.ExcelObject;
+import org.javafunk.excelparser.annotations.ParseType;
+import org.javafunk.excelparser.exception.ExcelParsingException;
+import org.javafunk.excelparser.helper.SheetCellSource;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.junit.Test;
+
+import java.util.ArrayList;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class MappingPlanTest {
+
+    @Test
+    public void shouldCompileFieldsInPositionOrder() {
+        MappingPlan<Student> plan = MappingPlan.compile(Student.class);
+
+        List<Integer> positions = plan.getFields().stream().map(FieldMapping::getPosition).collect(Collectors.toList());
+
+        assertThat(plan.getExcelObject().parseType(), is(ParseType.ROW));
+        assertThat(positions, is(asList(2, 3, 4, 5, 6, 7, 8, 9, 10)));
+        assertThat(plan.getChildren().isEmpty(), is(true));
+    }
+
+    @Test
+    public void shouldResolveMappedChildren() {
+        MappingPlan<Section> plan = MappingPlan.compile(Section.class);
+
+        assertThat(plan.getChildren().size(), is(1));
+        ChildMapping child = plan.getChildren().get(0);
+        assertThat(child.isList(), is(true));
+        assertThat(child.getType(), is((Object) Student.class));
+    }
+
+    @Test
+    public void shouldInstantiateAndSetFieldsWithMethodHandles() {
+        assertAccessorsPopulateStudent(new MethodHandleAccessors());
+    }
+
+    @Test
+    public void shouldInstantiateAndSetFieldsWithReflection() {
+        assertAccessorsPopulateStudent(new ReflectionAccessors());
+    }
+
+    @Test(expected = ExcelParsingException.class)
+    public void shouldReportSetterTypeMismatch() {
+        MappingPlan<Student> plan = MappingPlan.compile(Student.class, new MethodHandleAccessors());
+        Student student = plan.newInstance(error -> { throw error; });
+
+        plan.getFields().get(0).set(student, "not a number");
+    }
+
+    @Test
+    public void shouldReuseCachedPlans() {
+        MappingPlanCache cache = new MappingPlanCache();
+
+        assertThat(cache.get(Student.class), is(sameInstance(cache.get(Student.class))));
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedPlan() {
+        MappingPlanCache cache = new MappingPlanCache(2);
+        MappingPlan<Student> student = cache.get(Student.class);
+        cache.get(Section.class);
+        cache.get(Student.class);
+        cache.get(Subject.class);
+
+        assertThat(cache.size(), is(2));
+        assertThat(cache.get(Student.class), is(sameInstance(student)));
+    }
+
+    @Test
+    public void shouldBindHeaderFieldsToPositions() {
+        MappingPlan<Order> plan = MappingPlan.compile(Order.class);
+
+        MappingPlan<Order> bound = plan.bind(new SheetCellSource(headerSheet("Code", "Quantity", "Price")), error -> { throw error; });
+
+        List<Integer> positions = bound.getFields().stream().map(FieldMapping::getPosition).collect(Collectors.toList());
+        assertThat(plan.isHeaderMapped(), is(true));
+        assertThat(bound.isHeaderMapped(), is(false));
+        assertThat(positions, is(asList(1, 2, 3)));
+        assertThat(bound.bind(null, error -> { throw error; }), is(sameInstance(bound)));
+    }
+
+    @Test
+    public void shouldReportMissingHeader() {
+        List<ExcelParsingException> errors = new ArrayList<>();
+
+        MappingPlan<Order> bound = MappingPlan.compile(Order.class).bind(new SheetCellSource(headerSheet("Code", "Price", "QUANTITY")), errors::add);
+
+        assertThat(bound.getFields().size(), is(2));
+        assertThat(errors.size(), is(1));
+        assertThat(errors.get(0).getMessage(), is("Header Quantity not found in sheet Sheet1 for Order.quantity"));
+    }
+
+    @Test
+    public void shouldEndAfterConsecutiveBlankRows() {
+        SheetCellSource cells = new SheetCellSource(sheet("A", "", "B", "", "", "C"));
+
+        assertThat(MappingPlan.compile(BlankEnded.class).findEnd(cells, 7), is(4));
+    }
+
+    @Test
+    public void shouldEndAtBlankKeyOrSentinel() {
+        SheetCellSource cells = new SheetCellSource(sheet("A", "B", "END", "C", "", "D"));
+
+        assertThat(MappingPlan.compile(SentinelEnded.class).findEnd(cells, 7), is(3));
+        assertThat(MappingPlan.compile(KeyEnded.class).findEnd(cells, 7), is(5));
+    }
+
+    @Test
+    public void shouldSkipAllZeroOrBlankRows() {
+        Sheet sheet = sheet("A", "");
+        sheet.getRow(1).createCell(1).setCellValue(0);
+        sheet.createRow(3).createCell(1).setCellValue(0);
+        SheetCellSource cells = new SheetCellSource(sheet);
+        MappingPlan<BlankEnded> plan = MappingPlan.compile(BlankEnded.class);
+
+        assertThat(plan.skips(cells, 2), is(false));
+        assertThat(plan.skips(cells, 3), is(true));
+        assertThat(plan.skips(cells, 4), is(true));
+    }
+
+    /**
+     * @return a sheet with the values in column A from row 2, blank values as blank cells.
+     */
+    private Sheet sheet(String... values) {
+        Sheet sheet = new HSSFWorkbook().createSheet("Sheet1");
+        for (int i = 0; i < values.length; i++) {
+            sheet.createRow(i + 1).createCell(0).setCellValue(values[i]);
+        }
+        return sheet;
+    }
+
+    private Sheet headerSheet(String... headers) {
+        Sheet sheet = new HSSFWorkbook().createSheet("Sheet1");
+        Row row = sheet.createRow(0);
+        for (int i = 0; i < headers.length; i++) {
+            row.createCell(i).setCellValue(headers[i]);
+        }
+        return sheet;
+    }
+
+    private void assertAccessorsPopulateStudent(Accessors accessors) {
+        MappingPlan<Student> plan = MappingPlan.compile(Student.class, accessors);
+
+        Student student = plan.newInstance(error -> { throw error; });
+        plan.getFields().get(0).set(student, 2001L);
+        plan.getFields().get(1).set(student, "Adam");
+
+        assertThat(student.getRoleNumber(), is(2001L));
+        assertThat(student.getName(), is("Adam"));
+
+        Student written = plan.newInstance(error -> { throw error; });
+        Object[] values = plan.newValues();
+        values[plan.getFields().get(1).getSlot()] = "Eve";
+        plan.write(written, values);
+
+        assertThat(written.getName(), is("Eve"));
+        assertThat(written.getRoleNumber(), is(nullValue()));
+    }
+
+    @Test(expected = ExcelParsingException.class)
+    public void shouldReportWriterTypeMismatch() {
+        MappingPlan<Student> plan = MappingPlan.compile(Student.class, new MethodHandleAccessors());
+        Object[] values = plan.newValues();
+        values[0] = "not a number";
+
+        plan.write(plan.newInstance(error -> { throw error; }), values);
+    }
+
+    @Test
+    public void shouldSetPrimitiveFieldsOutsideTheWriter() {
+        MappingPlan<Counter> plan = MappingPlan.compile(Counter.class);
+
+        assertThat(plan.getFields().get(0).getSlot(), is(-1));
+        assertThat(plan.getFields().get(1).getSlot(), is(0));
+        assertThat(plan.newValues().length, is(1));
+    }
+
+    @ExcelObject(parseType = ParseType.ROW, start = 2)
+    static class Counter {
+        @ExcelField(position = 1)
+        int count;
+
+        @ExcelField(position = 2)
+        String label;
+    }
+
+    @ExcelObject(parseType = ParseType.ROW, start = 2)
+    static class Order {
+        @ExcelField(header = "Price")
+        Double price;
+
+        @ExcelField(header = "Quantity")
+        Integer quantity;
+
+        @ExcelField(position = 1)
+        String code;
+    }
+
+    @ExcelObject(parseType = ParseType.ROW, start = 2, endAfterBlanks = 2, ignoreAllZerosOrNullRows = true)
+    static class BlankEnded {
+        @ExcelField(position = 1)
+        String name;
+
+        @ExcelField(position = 2)
+        Integer count;
+    }
+
+    @ExcelObject(parseType = ParseType.ROW, start = 2, endSentinel = "END")
+    static class SentinelEnded {
+        @ExcelField(position = 1)
+        String name;
+    }
+
+    @ExcelObject(parseType = ParseType.ROW, start = 2)
+    static class KeyEnded {
+        @ExcelField(position = 2)
+        String note;
+
+        @ExcelField(position = 1, key = true)
+        String name;
+    }
+}
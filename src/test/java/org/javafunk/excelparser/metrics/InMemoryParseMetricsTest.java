@@ -0,0 +1,89 @@
+package org.javafunk.excelparser.metrics;
+
+import org.javafunk.example.domain.Section;
+import org.javafunk.example.domain.Student;
+import org.javafunk.excelparser.SheetParser;
+import org.javafunk.excelparser.XlsxStreamingParser;
+import org.javafunk.excelparser.exception.ExcelParsingException;
+import org.javafunk.excelparser.mapping.MappingPlanCache;
+import org.javafunk.excelparser.streaming.InMemorySharedStrings;
+
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class InMemoryParseMetricsTest {
+
+    @Test
+    public void shouldCountEntitiesCellsAndErrors() throws IOException {
+        InMemoryParseMetrics metrics = new InMemoryParseMetrics();
+        SheetParser parser = new SheetParser(new MappingPlanCache(), metrics);
+        List<ExcelParsingException> errors = new ArrayList<>();
+
+        parser.createEntity(openSheet("Errors.xlsx"), Section.class, errors::add);
+
+        assertThat(metrics.getSheetsParsed(), is(1L));
+        assertThat(metrics.getEntitiesCreated(), is(4L));
+        assertThat(metrics.getTopLevelEntities(), is(1L));
+        assertThat(metrics.getCellsConverted(), is(2L + 3 * 9));
+        assertThat(metrics.getCellsConvertedByType().get(Date.class.getName()), is(3L));
+        assertThat(metrics.getErrorsReported(), is((long) errors.size()));
+    }
+
+    @Test
+    public void shouldComputeRowsPerSecondFromTopLevelEntities() {
+        InMemoryParseMetrics metrics = new InMemoryParseMetrics();
+
+        metrics.entityCreated(Section.class, 10);
+        metrics.entityCreated(Section.class, 10);
+        metrics.entityCreated(Section.class, 10);
+        metrics.sheetParsed("Sheet1", Section.class, 3, 1_000_000_000L);
+        metrics.sheetParsed("Sheet2", Section.class, 0, 1_000_000_000L);
+
+        assertThat(metrics.getEntitiesCreated(), is(3L));
+        assertThat(metrics.getTopLevelEntities(), is(3L));
+        assertThat(metrics.getRowsPerSecond(), is(1.5));
+    }
+
+    @Test
+    public void shouldNotCountNestedEntitiesAsRows() {
+        InMemoryParseMetrics metrics = new InMemoryParseMetrics();
+
+        metrics.entityCreated(Section.class, 10);
+        metrics.entityCreated(Student.class, 10);
+        metrics.entityCreated(Student.class, 10);
+        metrics.sheetParsed("Sheet1", Section.class, 1, 500_000_000L);
+
+        assertThat(metrics.getRowsPerSecond(), is(2.0));
+    }
+
+    @Test
+    public void shouldReportBytesReadWhenStreaming() throws URISyntaxException {
+        InMemoryParseMetrics metrics = new InMemoryParseMetrics();
+        File file = new File(getClass().getClassLoader().getResource("Student Profile.xlsx").toURI());
+        XlsxStreamingParser parser = new XlsxStreamingParser(new SheetParser(new MappingPlanCache(), metrics), InMemorySharedStrings::new);
+
+        parser.createEntity(file, "Sheet1", Section.class, error -> { throw error; });
+
+        assertThat(metrics.getBytesRead(), is(file.length()));
+        assertThat(metrics.getSheetsParsed(), is(1L));
+        assertThat(metrics.getEntitiesCreated(), is(4L));
+    }
+
+    private Sheet openSheet(String fileName) throws IOException {
+        try (InputStream inputStream = getClass().getClassLoader().getResourceAsStream(fileName)) {
+            return new XSSFWorkbook(inputStream).getSheet("Sheet1");
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package org.javafunk.excelparser.streaming;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class MappedSharedStringsTest {
+
+    @Test
+    public void shouldReadStringsBackFromMappedFile() throws IOException {
+        try (MappedSharedStrings strings = new MappedSharedStrings(1)) {
+            strings.add("Adam");
+            strings.add("");
+            strings.add("\u00dcn\u00efc\u00f6d\u00e9 \u2713");
+
+            assertThat(strings.size(), is(3));
+            assertThat(strings.get(2), is("\u00dcn\u00efc\u00f6d\u00e9 \u2713"));
+            assertThat(strings.get(1), is(""));
+            assertThat(strings.get(0), is("Adam"));
+        }
+    }
+
+    @Test
+    public void shouldDeleteFileOnClose() throws IOException {
+        File[] spooled = new File[1];
+        try (MappedSharedStrings strings = new MappedSharedStrings() {
+            @Override
+            protected void openForReading(File file) throws IOException {
+                spooled[0] = file;
+                super.openForReading(file);
+            }
+        }) {
+            strings.add("Adam");
+            strings.get(0);
+        }
+
+        assertThat(spooled[0].exists(), is(false));
+    }
+
+    @Test
+    public void shouldServeRepeatedLookupsFromCache() throws IOException {
+        try (MappedSharedStrings strings = new MappedSharedStrings(4)) {
+            strings.add("Adam");
+
+            assertThat(strings.get(0), is(sameInstance(strings.get(0))));
+        }
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void shouldRejectUnknownIndex() throws IOException {
+        try (MappedSharedStrings strings = new MappedSharedStrings()) {
+            strings.add("Adam");
+
+            strings.get(1);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package org.javafunk.excelparser.streaming;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class XlsxSheetReaderTest {
+
+    @Test
+    public void shouldStopReadingOnceDone() throws URISyntaxException {
+        List<StreamingRow> rows = new ArrayList<>();
+
+        new XlsxSheetReader().read(resource("Student Profile.xlsx"), "Sheet1", rows::add, () -> rows.size() == 2);
+
+        assertThat(rows.size(), is(2));
+    }
+
+    @Test
+    public void shouldReadEveryRowWhenNeverDone() throws URISyntaxException {
+        List<StreamingRow> rows = new ArrayList<>();
+
+        new XlsxSheetReader().read(resource("Student Profile.xlsx"), "Sheet1", rows::add);
+
+        assertThat(rows.size() > 2, is(true));
+    }
+
+    private File resource(String fileName) throws URISyntaxException {
+        return new File(getClass().getClassLoader().getResource(fileName).toURI());
+    }
+}
@@ -0,0 +1,132 @@
+package org.javafunk.excelparser.validation;
+
+import org.javafunk.example.domain.Subject;
+import org.javafunk.excelparser.ParseResult;
+import org.javafunk.excelparser.SheetParser;
+import org.javafunk.excelparser.annotations.ExcelField;
+import org.javafunk.excelparser.annotations.ExcelObject;
+import org.javafunk.excelparser.annotations.Length;
+import org.javafunk.excelparser.annotations.NotBlank;
+import org.javafunk.excelparser.annotations.OneOf;
+import org.javafunk.excelparser.annotations.ParseType;
+import org.javafunk.excelparser.annotations.Range;
+import org.javafunk.excelparser.annotations.ValidateWith;
+import org.javafunk.excelparser.exception.ExcelInvalidCellValuesException;
+import org.javafunk.excelparser.mapping.FieldMapping;
+import org.javafunk.excelparser.mapping.MappingPlan;
+import org.javafunk.excelparser.mapping.MappingPlanCache;
+import org.javafunk.excelparser.mapping.MethodHandleAccessors;
+
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class ValidatorRegistryTest {
+
+    @Test
+    public void shouldCompileBuiltInValidatorsOnce() {
+        MappingPlan<Product> plan = MappingPlan.compile(Product.class);
+        FieldMapping code = plan.getFields().get(0);
+        FieldMapping quantity = plan.getFields().get(1);
+        FieldMapping status = plan.getFields().get(2);
+
+        assertThat(code.getValidators().size(), is(3));
+        assertThat(code.isValid("AB-1", "AB-1"), is(true));
+        assertThat(code.isValid("AB-12345", "AB-12345"), is(false));
+        assertThat(code.isValid("ab-1", "ab-1"), is(false));
+        assertThat(code.isValid(null, ""), is(false));
+
+        assertThat(quantity.isValid(5, "5"), is(true));
+        assertThat(quantity.isValid(11, "11"), is(false));
+        assertThat(quantity.isValid(null, ""), is(true));
+
+        assertThat(status.isValid("Active", "Active"), is(true));
+        assertThat(status.isValid("CLOSED", "CLOSED"), is(true));
+        assertThat(status.isValid("Pending", "Pending"), is(false));
+    }
+
+    @Test
+    public void shouldUseRegisteredCustomValidator() {
+        ValidatorRegistry registry = new ValidatorRegistry().register(EvenValidator.class, new EvenValidator());
+
+        MappingPlan<Product> plan = MappingPlan.compile(Product.class, new MethodHandleAccessors(), registry);
+        FieldMapping even = plan.getFields().get(3);
+
+        assertThat(even.getValidators().get(0), is(sameInstance(registry.get(EvenValidator.class))));
+        assertThat(even.isValid(4, "4"), is(true));
+        assertThat(even.isValid(3, "3"), is(false));
+    }
+
+    @Test
+    public void shouldRecordSoftValidationFailures() throws IOException {
+        Sheet sheet = openSheet("Subjects.xlsx");
+        List<Subject> subjects = new SheetParser().createEntity(sheet, Subject.class, error -> { throw error; });
+        SheetParser parser = new SheetParser(new MappingPlanCache());
+
+        ParseResult<LargeVolume> volumes = parser.parse(sheet, LargeVolume.class, error -> { throw error; });
+
+        long withVolume = subjects.stream().filter(subject -> subject.getVolume() != null).count();
+        assertThat(volumes.getEntities().size(), is(subjects.size()));
+        assertThat((long) volumes.getInvalidCells().size(), is(withVolume));
+    }
+
+    @Test(expected = ExcelInvalidCellValuesException.class)
+    public void shouldThrowOnHardValidationFailure() throws IOException {
+        new SheetParser().createEntity(openSheet("Subjects.xlsx"), BlankCode.class, error -> { throw error; });
+    }
+
+    private Sheet openSheet(String fileName) throws IOException {
+        try (InputStream inputStream = getClass().getClassLoader().getResourceAsStream(fileName)) {
+            return new XSSFWorkbook(inputStream).getSheet("Sheet1");
+        }
+    }
+
+    @ExcelObject(parseType = ParseType.ROW, start = 2)
+    static class Product {
+        @ExcelField(position = 1, validate = true, regex = "[A-Z]+-[0-9]+")
+        @NotBlank
+        @Length(max = 6)
+        String code;
+
+        @ExcelField(position = 2)
+        @Range(min = 0, max = 10)
+        Integer quantity;
+
+        @ExcelField(position = 3)
+        @OneOf(value = {"active", "closed"}, ignoreCase = true)
+        String status;
+
+        @ExcelField(position = 4)
+        @ValidateWith(EvenValidator.class)
+        Integer even;
+    }
+
+    @ExcelObject(parseType = ParseType.ROW, start = 2)
+    static class LargeVolume {
+        @ExcelField(position = 3)
+        @Range(min = 100)
+        Integer volume;
+    }
+
+    @ExcelObject(parseType = ParseType.ROW, start = 2)
+    static class BlankCode {
+        @ExcelField(position = 1, validationType = ExcelField.ValidationType.HARD)
+        @Length(max = 0)
+        String code;
+    }
+
+    public static class EvenValidator implements CellValidator {
+        @Override
+        public boolean isValid(Object value, String text) {
+            return value instanceof Integer && (Integer) value % 2 == 0;
+        }
+    }
+}